@@ -0,0 +1,36 @@
+package com.example.todoapp.bench;
+
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.entity.Todo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic input shared by the benchmarks
+final class BenchData {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2026, 2, 17, 15, 30, 30);
+
+    private BenchData() {
+    }
+
+    static List<Todo> todos(int size) {
+        List<Todo> todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            todos.add(Todo.builder()
+                    .id((long) i + 1)
+                    .title("study " + i)
+                    .description("java learning, chapter " + i + " - streams, records and pattern matching")
+                    .completed(i % 3 == 0)
+                    .createdAt(BASE_TIME.minusMinutes(i))
+                    .updatedAt(BASE_TIME.minusMinutes(i).plusSeconds(30))
+                    .build());
+        }
+        return todos;
+    }
+
+    static List<TodoResponseDto> responses(int size) {
+        return todos(size).stream().map(TodoResponseDto::fromEntity).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.todoapp.bench;
+
+import com.example.todoapp.dto.SignupRequest;
+import com.example.todoapp.dto.TodoRequestDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Bean Validation of request bodies (what @Valid costs per request)
+// SignupRequest includes the password lookahead regex
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private TodoRequestDto validTodo;
+    private TodoRequestDto invalidTodo;
+    private SignupRequest validSignup;
+    private SignupRequest invalidSignup;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validTodo = new TodoRequestDto("study", "java learning", false);
+        invalidTodo = new TodoRequestDto(" ", "x".repeat(300), false);
+        validSignup = SignupRequest.builder()
+                .username("bench_user")
+                .password("Passw0rdBench")
+                .email("bench@example.com")
+                .nickname("bench")
+                .build();
+        // Fails the password regex only after scanning the whole string
+        invalidSignup = SignupRequest.builder()
+                .username("bench_user")
+                .password("passwordpassword")
+                .email("bench@example.com")
+                .nickname("bench")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TodoRequestDto>> todoValid() {
+        return validator.validate(validTodo);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TodoRequestDto>> todoInvalid() {
+        return validator.validate(invalidTodo);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SignupRequest>> signupValid() {
+        return validator.validate(validSignup);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SignupRequest>> signupInvalidPassword() {
+        return validator.validate(invalidSignup);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.todoapp.bench;
+
+import com.example.todoapp.cache.TodoFragmentCache;
+import com.example.todoapp.config.SerializationConfig;
+import com.example.todoapp.dto.TodoPageResponse;
+import com.example.todoapp.dto.TodoResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of todo pages, including the @JsonFormat(pattern, timezone) date fields
+// *Fragments: the app's JSON mapper, copying warm per-todo fragments (TodoFragmentCache)
+// *Cbor: the binary encoding served for "Accept: application/cbor"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoJsonBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private JsonMapper jsonMapper;
+    private JsonMapper fragmentMapper;
+    private CBORMapper cborMapper;
+    private List<TodoResponseDto> todos;
+    private TodoPageResponse<TodoResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        // Default mapper, like the one Spring Boot builds for the web layer
+        jsonMapper = JsonMapper.builder().build();
+        fragmentMapper = SerializationConfig.fragmentMapper(jsonMapper,
+                new TodoFragmentCache(jsonMapper, 100_000, new SimpleMeterRegistry()));
+        cborMapper = CBORMapper.builder().build();
+        todos = BenchData.responses(pageSize);
+        page = TodoPageResponse.of(todos, "MjAyNi0wMi0xN1QxNTozMDozMHwy");
+    }
+
+    @Benchmark
+    public byte[] serializeList() {
+        return jsonMapper.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializePageFragments() {
+        return fragmentMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializePageCbor() {
+        return cborMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public String serializeSingle() {
+        return jsonMapper.writeValueAsString(todos.get(0));
+    }
+}
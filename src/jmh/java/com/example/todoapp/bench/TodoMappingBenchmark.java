@@ -0,0 +1,39 @@
+package com.example.todoapp.bench;
+
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.entity.Todo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO mapping (TodoResponseDto.fromEntity) for one page of todos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<Todo> todos;
+
+    @Setup
+    public void setUp() {
+        todos = BenchData.todos(pageSize);
+    }
+
+    @Benchmark
+    public void fromEntity(Blackhole blackhole) {
+        for (Todo todo : todos) {
+            blackhole.consume(TodoResponseDto.fromEntity(todo));
+        }
+    }
+
+    @Benchmark
+    public List<TodoResponseDto> fromEntityStream() {
+        // Same shape as the service code: stream().map(...).collect(...)
+        return todos.stream().map(TodoResponseDto::fromEntity).toList();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todoapp.bench;
+
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoPageResponse;
+import com.example.todoapp.dto.TodoRequestDto;
+import com.example.todoapp.dto.TodoView;
+import com.example.todoapp.entity.User;
+import com.example.todoapp.load.BenchApplication;
+import com.example.todoapp.load.EmbeddedDatabase;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// TodoService list/search paths against an embedded PostgreSQL (real queries, real indexes)
+// One user owns "todoCount" todos; the Spring context is started once per fork
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoServiceBenchmark {
+
+    @Param({"1000"})
+    private int todoCount;
+
+    private EmbeddedDatabase database;
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+
+    private Long userId;
+    private String secondPageCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = EmbeddedDatabase.start();
+        context = BenchApplication.start(database, Map.of("spring.main.web-application-type", "none"));
+        todoService = context.getBean(TodoService.class);
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .username("jmh")
+                .password("not-used")
+                .email("jmh@example.com")
+                .build());
+        userId = user.getId();
+
+        List<TodoRequestDto> todos = new ArrayList<>();
+        for (int i = 0; i < todoCount; i++) {
+            todos.add(new TodoRequestDto("study " + i, "java learning chapter " + i, i % 3 == 0));
+            if (todos.size() == 500) {
+                todoService.createTodos(userId, todos);
+                todos = new ArrayList<>();
+            }
+        }
+        if (!todos.isEmpty()) {
+            todoService.createTodos(userId, todos);
+        }
+
+        secondPageCursor = todoService.getTodos(userId, TodoFilter.all(), null, 20, TodoView.FULL).getNextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        database.close();
+    }
+
+    // First page: served by TodoListCache after the first call
+    @Benchmark
+    public TodoPageResponse<?> listFirstPageCached() {
+        return todoService.getTodos(userId, TodoFilter.all(), null, 20, TodoView.FULL);
+    }
+
+    // Cursor page: always a keyset query
+    @Benchmark
+    public TodoPageResponse<?> listNextPage() {
+        return todoService.getTodos(userId, TodoFilter.all(), secondPageCursor, 20, TodoView.FULL);
+    }
+
+    @Benchmark
+    public TodoPageResponse<?> listNextPageSummary() {
+        return todoService.getTodos(userId, TodoFilter.all(), secondPageCursor, 20, TodoView.SUMMARY);
+    }
+
+    @Benchmark
+    public TodoPageResponse<?> listNextPageCompleted() {
+        return todoService.getTodos(userId, TodoFilter.byCompleted(true), secondPageCursor, 20, TodoView.FULL);
+    }
+
+    @Benchmark
+    public List<?> search() {
+        return todoService.searchTodos(userId, "study chap", 0, 20, TodoView.FULL);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.TodoappApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Boots the real application on a random local port against the embedded database
+public final class BenchApplication {
+
+    // Fixed, so tokens minted for one run stay valid across restarts of the app under test
+    private static final String TOKEN_SECRET = "load-test-secret-not-for-production-use";
+
+    private BenchApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(EmbeddedDatabase database, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("server.address", "127.0.0.1");
+        properties.put("spring.datasource.url", database.getJdbcUrl());
+        properties.put("spring.datasource.username", database.getUsername());
+        properties.put("spring.datasource.password", database.getPassword());
+        properties.put("todo.auth.token-secret", TOKEN_SECRET);
+        properties.put("management.server.port", 0);
+        // Measure the app, not the console
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.jpa.properties.hibernate.format_sql", false);
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        properties.put("logging.level.org.springframework.boot.autoconfigure", "WARN");
+        properties.put("logging.level.com.zaxxer.hikari", "WARN");
+        properties.put("logging.level.com.example.todoapp", "WARN");
+        properties.putAll(overrides);
+
+        // As command line arguments: builder.properties() are only defaults, application.properties wins over them
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TodoappApplication.class)
+                .run(args);
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+}
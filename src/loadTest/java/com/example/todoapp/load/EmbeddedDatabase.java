@@ -0,0 +1,40 @@
+package com.example.todoapp.load;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+
+// Throwaway PostgreSQL server for load runs (local stand-in for the real database)
+// Same engine as production, so the native queries, tsvector column and GIN indexes work unchanged
+public class EmbeddedDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    public static EmbeddedDatabase start() throws IOException {
+        return new EmbeddedDatabase(EmbeddedPostgres.builder()
+                // Enough backends for the connection pool of the app under test
+                .setServerConfig("max_connections", "200")
+                .start());
+    }
+
+    public String getJdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true";
+    }
+
+    public String getUsername() {
+        return "postgres";
+    }
+
+    public String getPassword() {
+        return "postgres";
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
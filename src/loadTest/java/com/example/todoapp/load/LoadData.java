@@ -0,0 +1,55 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.dto.TodoRequestDto;
+import com.example.todoapp.entity.User;
+import com.example.todoapp.repository.UserRepository;
+import com.example.todoapp.security.TokenProvider;
+import com.example.todoapp.service.TodoService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Seeds users and todos through the app's own beans before a load run
+public final class LoadData {
+
+    // Every seeded user has this password (matches the SignupRequest rules)
+    public static final String PASSWORD = "LoadTest123";
+
+    private static final int CHUNK_SIZE = 500;
+
+    private LoadData() {
+    }
+
+    // token: access token as issued by /api/auth/login
+    public record SeededUser(Long id, String username, String token) {
+    }
+
+    public static List<SeededUser> seed(ApplicationContext context, int users, int todosPerUser) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        TodoService todoService = context.getBean(TodoService.class);
+        TokenProvider tokenProvider = context.getBean(TokenProvider.class);
+        // Hash once: BCrypt per user would dominate the seeding time
+        String encodedPassword = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<SeededUser> seeded = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            User user = userRepository.save(User.builder()
+                    .username("bench" + u)
+                    .password(encodedPassword)
+                    .email("bench" + u + "@example.com")
+                    .build());
+            seeded.add(new SeededUser(user.getId(), user.getUsername(), tokenProvider.issue(user.getId())));
+
+            for (int created = 0; created < todosPerUser; created += CHUNK_SIZE) {
+                List<TodoRequestDto> chunk = new ArrayList<>();
+                for (int i = created; i < Math.min(todosPerUser, created + CHUNK_SIZE); i++) {
+                    chunk.add(new TodoRequestDto("todo " + i, "description of todo " + i, i % 3 == 0));
+                }
+                todoService.createTodos(user.getId(), chunk);
+            }
+        }
+        return seeded;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.todoapp.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Operations of the mixed workload
+// key: name used in -Pload.mix and in the baseline / results JSON
+public enum LoadOperation {
+    LIST("list", "GET /api/todos"),
+    LIST_NEXT("next", "GET /api/todos?after="),
+    SEARCH("search", "GET /api/todos/search"),
+    CREATE("create", "POST /api/todos"),
+    TOGGLE("toggle", "PATCH /api/todos/{id}/toggle"),
+    DELETE("delete", "DELETE /api/todos/{id}"),
+    LOGIN("login", "POST /api/auth/login"),
+    SIGNUP("signup", "POST /api/auth/signup");
+
+    public static final String DEFAULT_MIX =
+            "list=40,next=15,search=15,create=12,toggle=10,delete=5,login=2,signup=1";
+
+    private final String key;
+    private final String label;
+
+    LoadOperation(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static LoadOperation fromKey(String key) {
+        for (LoadOperation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load operation: " + key);
+    }
+
+    // "list=40,search=15,..." -> weights (operations not listed are not run)
+    public static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(fromKey(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Empty load mix: " + mix);
+        }
+        return weights;
+    }
+}
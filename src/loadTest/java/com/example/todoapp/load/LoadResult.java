@@ -0,0 +1,35 @@
+package com.example.todoapp.load;
+
+import org.HdrHistogram.Histogram;
+
+// Summary of one operation in a load run (also the shape of a baseline entry)
+// Latencies in milliseconds
+public record LoadResult(
+        long requests,
+        long errors,
+        double throughput,
+        double p50,
+        double p95,
+        double p99,
+        double max) {
+
+    public static LoadResult of(Histogram histogram, long errors, int seconds) {
+        return new LoadResult(
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / (double) seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getMaxValue()));
+    }
+
+    public double errorRate() {
+        long total = requests + errors;
+        return total == 0 ? 0 : errors / (double) total;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.todoapp.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// End-to-end load test of the REST API with a mixed read/write workload
+//
+// Boots the app against an embedded PostgreSQL, seeds users and todos, runs "load.clients"
+// concurrent clients (each bound to one seeded user) for "load.seconds", and records an
+// HdrHistogram per operation. Results are written as JSON and compared to a stored baseline:
+// the run fails (exit code 1 -> failed Gradle task) when an operation's p99 or throughput is
+// worse than the baseline by more than "load.margin", or its error rate exceeds "load.maxErrorRate".
+//
+// System properties (./gradlew loadTest -Pload.clients=200 ...):
+//   load.clients         concurrent clients                                (default 100)
+//   load.seconds         measured seconds                                  (default 60)
+//   load.warmup          warm-up seconds                                   (default 15)
+//   load.users           seeded users, each owns load.todos                (default 100)
+//   load.todos           todos per seeded user                             (default 500)
+//   load.mix             operation weights, see LoadOperation.DEFAULT_MIX
+//   load.baseline        baseline JSON         (default src/loadTest/resources/load-baseline.json)
+//   load.results         results JSON          (default build/results/loadTest/results.json)
+//   load.margin          allowed regression, 0.25 = 25%                    (default 0.25)
+//   load.maxErrorRate    allowed error rate per operation                  (default 0.01)
+//   load.updateBaseline  true: write this run as the new baseline, no comparison (-PrecordBaseline)
+//                        without it a missing baseline fails the run
+public class LoadTestSuite {
+
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"nextCursor\":\"([^\"]+)\"");
+    private static final Pattern TODO_ID = Pattern.compile("\"id\":(\\d+)");
+    private static final String[] SEARCH_TERMS = {"todo", "todo 1", "description", "descr todo 4", "nothing"};
+
+    private final int clients = Integer.getInteger("load.clients", 100);
+    private final int seconds = Integer.getInteger("load.seconds", 60);
+    private final int warmup = Integer.getInteger("load.warmup", 15);
+    private final int users = Integer.getInteger("load.users", 100);
+    private final int todosPerUser = Integer.getInteger("load.todos", 500);
+    private final Map<LoadOperation, Integer> mix =
+            LoadOperation.parseMix(System.getProperty("load.mix", LoadOperation.DEFAULT_MIX));
+    private final File baselineFile =
+            new File(System.getProperty("load.baseline", "src/loadTest/resources/load-baseline.json"));
+    private final File resultsFile =
+            new File(System.getProperty("load.results", "build/results/loadTest/results.json"));
+    private final double margin = Double.parseDouble(System.getProperty("load.margin", "0.25"));
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+    private final boolean updateBaseline = Boolean.getBoolean("load.updateBaseline");
+    private final boolean writeBehind = Boolean.getBoolean("load.writeBehind");
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final AtomicLong signupSequence = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        List<String> regressions = new LoadTestSuite().run();
+        if (!regressions.isEmpty()) {
+            System.err.println("Load test regressions:");
+            regressions.forEach(regression -> System.err.println("  " + regression));
+            System.exit(1);
+        }
+    }
+
+    private List<String> run() throws Exception {
+        Map<String, LoadResult> results;
+        try (EmbeddedDatabase database = EmbeddedDatabase.start()) {
+            ConfigurableApplicationContext context = BenchApplication.start(database,
+                    Map.of("todo.write-behind.enabled", writeBehind));
+            try {
+                List<LoadData.SeededUser> seeded = LoadData.seed(context, users, todosPerUser);
+                String baseUrl = "http://127.0.0.1:" + BenchApplication.port(context) + "/api";
+
+                drive(baseUrl, seeded, warmup);
+                results = drive(baseUrl, seeded, seconds);
+            } finally {
+                context.close();
+            }
+        }
+
+        print(results);
+        write(resultsFile, results);
+
+        if (updateBaseline) {
+            // A run with failing requests is no reference for later ones
+            List<String> failing = errorRates(results);
+            if (!failing.isEmpty()) {
+                return failing;
+            }
+            write(baselineFile, results);
+            System.out.println("Baseline written to " + baselineFile);
+            return List.of();
+        }
+        if (!baselineFile.exists()) {
+            return List.of("No baseline at " + baselineFile + " (record one with -PrecordBaseline)");
+        }
+        return compare(results, jsonMapper.readValue(baselineFile, new TypeReference<Map<String, LoadResult>>() {
+        }));
+    }
+
+    private Map<String, LoadResult> drive(String baseUrl, List<LoadData.SeededUser> seeded, int durationSeconds)
+            throws InterruptedException {
+        Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+        Map<LoadOperation, AtomicLong> errors = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new AtomicLong());
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        // The HttpClient gets its own executor: clientThreads is shut down below while requests are still running
+        try (ExecutorService httpThreads = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .executor(httpThreads)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            for (int c = 0; c < clients; c++) {
+                Client client = new Client(http, baseUrl, seeded.get(c % seeded.size()));
+                clientThreads.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        LoadOperation operation = client.resolve(pick());
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.execute(operation);
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long elapsed = System.nanoTime() - start;
+                        if (ok) {
+                            histograms.get(operation).recordValue(elapsed);
+                        } else {
+                            errors.get(operation).incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            clientThreads.shutdown();
+            clientThreads.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        }
+
+        Map<String, LoadResult> results = new LinkedHashMap<>();
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long failed = errors.get(operation).get();
+            if (histogram.getTotalCount() + failed > 0) {
+                results.put(operation.getKey(), LoadResult.of(histogram, failed, durationSeconds));
+            }
+        }
+        return results;
+    }
+
+    private LoadOperation pick() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<LoadOperation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private List<String> compare(Map<String, LoadResult> results, Map<String, LoadResult> baseline) {
+        List<String> regressions = errorRates(results);
+        results.forEach((key, result) -> {
+            LoadResult expected = baseline.get(key);
+            if (expected == null) {
+                return;
+            }
+            if (result.p99() > expected.p99() * (1 + margin)) {
+                regressions.add(String.format("%s: p99 %.2f ms > baseline %.2f ms (+%.0f%%)",
+                        key, result.p99(), expected.p99(), margin * 100));
+            }
+            if (result.throughput() < expected.throughput() * (1 - margin)) {
+                regressions.add(String.format("%s: throughput %.1f/s < baseline %.1f/s (-%.0f%%)",
+                        key, result.throughput(), expected.throughput(), margin * 100));
+            }
+        });
+        return regressions;
+    }
+
+    private List<String> errorRates(Map<String, LoadResult> results) {
+        List<String> failing = new ArrayList<>();
+        results.forEach((key, result) -> {
+            if (result.errorRate() > maxErrorRate) {
+                failing.add(String.format("%s: error rate %.2f%% > %.2f%%",
+                        key, result.errorRate() * 100, maxErrorRate * 100));
+            }
+        });
+        return failing;
+    }
+
+    private void print(Map<String, LoadResult> results) {
+        System.out.printf("%-30s %10s %8s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        results.forEach((key, result) -> System.out.printf("%-30s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                LoadOperation.fromKey(key).getLabel(), result.requests(), result.errors(), result.throughput(),
+                result.p50(), result.p95(), result.p99(), result.max()));
+    }
+
+    private void write(File file, Map<String, LoadResult> results) {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        jsonMapper.writerWithDefaultPrettyPrinter().writeValue(file, results);
+    }
+
+    // One simulated user: keeps the state a real client would have (last page, own new todos)
+    private class Client {
+        private final HttpClient http;
+        private final String todosUrl;
+        private final String authUrl;
+        private final LoadData.SeededUser user;
+
+        private String nextCursor;
+        private List<String> pageIds = List.of();
+        private final Deque<String> createdIds = new ArrayDeque<>();
+
+        Client(HttpClient http, String baseUrl, LoadData.SeededUser user) {
+            this.http = http;
+            this.todosUrl = baseUrl + "/todos";
+            this.authUrl = baseUrl + "/auth";
+            this.user = user;
+        }
+
+        // Falls back to an operation that produces the missing state
+        LoadOperation resolve(LoadOperation operation) {
+            return switch (operation) {
+                case LIST_NEXT -> nextCursor == null ? LoadOperation.LIST : operation;
+                case TOGGLE -> pageIds.isEmpty() ? LoadOperation.LIST : operation;
+                case DELETE -> createdIds.isEmpty() ? LoadOperation.CREATE : operation;
+                default -> operation;
+            };
+        }
+
+        boolean execute(LoadOperation operation) throws Exception {
+            return switch (operation) {
+                case LIST -> readPage(send(request(todosUrl).GET()));
+                case LIST_NEXT -> readPage(send(request(todosUrl + "?after=" + nextCursor).GET()));
+                case SEARCH -> {
+                    String keyword = SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)];
+                    yield send(request(todosUrl + "/search?keyword="
+                            + URLEncoder.encode(keyword, StandardCharsets.UTF_8)).GET()) != null;
+                }
+                case CREATE -> {
+                    String body = send(json(request(todosUrl),
+                            "{\"title\":\"load\",\"description\":\"created by the load test\"}"));
+                    Matcher id = body == null ? null : TODO_ID.matcher(body);
+                    if (id != null && id.find()) {
+                        createdIds.push(id.group(1));
+                    }
+                    yield body != null;
+                }
+                case TOGGLE -> {
+                    String id = pageIds.get(ThreadLocalRandom.current().nextInt(pageIds.size()));
+                    yield send(request(todosUrl + "/" + id + "/toggle")
+                            .method("PATCH", HttpRequest.BodyPublishers.noBody())) != null;
+                }
+                case DELETE -> send(request(todosUrl + "/" + createdIds.pop()).DELETE()) != null;
+                case LOGIN -> send(json(anonymous(authUrl + "/login"),
+                        "{\"username\":\"" + user.username() + "\",\"password\":\"" + LoadData.PASSWORD + "\"}")) != null;
+                case SIGNUP -> {
+                    long n = signupSequence.incrementAndGet();
+                    yield send(json(anonymous(authUrl + "/signup"),
+                            "{\"username\":\"load" + n + "\",\"password\":\"" + LoadData.PASSWORD
+                                    + "\",\"email\":\"load" + n + "@example.com\"}")) != null;
+                }
+            };
+        }
+
+        private boolean readPage(String body) {
+            if (body == null) {
+                return false;
+            }
+            Matcher cursor = NEXT_CURSOR.matcher(body);
+            nextCursor = cursor.find() ? cursor.group(1) : null;
+
+            List<String> ids = new ArrayList<>();
+            Matcher id = TODO_ID.matcher(body);
+            while (id.find()) {
+                ids.add(id.group(1));
+            }
+            pageIds = ids;
+            return true;
+        }
+
+        private HttpRequest.Builder request(String url) {
+            return anonymous(url).header("Authorization", "Bearer " + user.token());
+        }
+
+        private HttpRequest.Builder anonymous(String url) {
+            return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30));
+        }
+
+        private HttpRequest.Builder json(HttpRequest.Builder request, String body) {
+            return request.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+
+        // Response body, or null for an error status
+        private String send(HttpRequest.Builder request) throws Exception {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() >= 400 ? null : response.body();
+        }
+    }
+}
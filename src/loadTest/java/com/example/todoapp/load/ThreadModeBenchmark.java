@@ -0,0 +1,175 @@
+package com.example.todoapp.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Platform threads vs virtual threads on the /api/todos endpoints
+//
+// Boots the app twice against the same embedded PostgreSQL (spring.threads.virtual.enabled=false/true),
+// drives it with many concurrent clients and prints throughput and latency percentiles per mode.
+// Workload per client iteration: list first page -> list next page (bypasses the page cache)
+// -> create (10%) or toggle (10%).
+//
+// System properties (./gradlew threadModeBenchmark -Pbench.clients=2000 ...):
+//   bench.clients  concurrent clients            (default 1000)
+//   bench.seconds  measured seconds per mode      (default 30)
+//   bench.warmup   warm-up seconds per mode       (default 10)
+//   bench.users    users, each owns bench.todos   (default 200)
+//   bench.todos    todos per user                 (default 200)
+//   bench.pool     JDBC pool size in both modes   (default 20)
+public class ThreadModeBenchmark {
+
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"nextCursor\":\"([^\"]+)\"");
+    private static final Pattern TODO_ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final int clients = Integer.getInteger("bench.clients", 1000);
+    private final int seconds = Integer.getInteger("bench.seconds", 30);
+    private final int warmup = Integer.getInteger("bench.warmup", 10);
+    private final int users = Integer.getInteger("bench.users", 200);
+    private final int todosPerUser = Integer.getInteger("bench.todos", 200);
+    private final int poolSize = Integer.getInteger("bench.pool", 20);
+
+    public static void main(String[] args) throws Exception {
+        new ThreadModeBenchmark().run();
+    }
+
+    private void run() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-9s %8s %10s %8s %12s %9s %9s %9s %9s",
+                "mode", "clients", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+        try (EmbeddedDatabase database = EmbeddedDatabase.start()) {
+            List<String> tokens = null;
+            for (boolean virtualThreads : new boolean[]{false, true}) {
+                ConfigurableApplicationContext context = BenchApplication.start(database, Map.of(
+                        "spring.threads.virtual.enabled", virtualThreads,
+                        "spring.datasource.hikari.maximum-pool-size", poolSize));
+                try {
+                    if (tokens == null) {
+                        tokens = LoadData.seed(context, users, todosPerUser).stream()
+                                .map(LoadData.SeededUser::token)
+                                .toList();
+                    }
+                    String baseUrl = "http://127.0.0.1:" + BenchApplication.port(context) + "/api/todos";
+
+                    drive(baseUrl, tokens, warmup, null);
+                    Result result = drive(baseUrl, tokens, seconds, new ConcurrentHistogram(3));
+                    report.add(result.format(virtualThreads ? "virtual" : "platform", clients));
+                } finally {
+                    context.close();
+                }
+            }
+        }
+
+        report.forEach(System.out::println);
+    }
+
+    // histogram == null: warm-up, nothing recorded
+    private Result drive(String baseUrl, List<String> tokens, int durationSeconds, Histogram histogram)
+            throws InterruptedException {
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .executor(clientThreads)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            for (int c = 0; c < clients; c++) {
+                clientThreads.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String token = tokens.get(random.nextInt(tokens.size()));
+                        try {
+                            String firstPage = call(http, get(baseUrl, token), histogram, errors);
+                            Matcher cursor = NEXT_CURSOR.matcher(firstPage);
+                            if (cursor.find()) {
+                                call(http, get(baseUrl + "?after=" + cursor.group(1), token), histogram, errors);
+                            }
+
+                            int action = random.nextInt(10);
+                            if (action == 0) {
+                                call(http, request(baseUrl, token)
+                                        .header("Content-Type", "application/json")
+                                        .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"bench\"}"))
+                                        .build(), histogram, errors);
+                            } else if (action == 1) {
+                                Matcher id = TODO_ID.matcher(firstPage);
+                                if (id.find()) {
+                                    call(http, request(baseUrl + "/" + id.group(1) + "/toggle", token)
+                                            .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                                            .build(), histogram, errors);
+                                }
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            clientThreads.shutdown();
+            clientThreads.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        }
+
+        return new Result(histogram, errors.get(), durationSeconds);
+    }
+
+    private static HttpRequest.Builder request(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return request(url, token).GET().build();
+    }
+
+    private static String call(HttpClient http, HttpRequest request, Histogram histogram, AtomicLong errors)
+            throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - start;
+
+        if (response.statusCode() >= 400) {
+            errors.incrementAndGet();
+        } else if (histogram != null) {
+            histogram.recordValue(elapsed);
+        }
+        return response.body();
+    }
+
+    private record Result(Histogram histogram, long errors, int seconds) {
+
+        String format(String mode, int clients) {
+            return String.format("%-9s %8d %10d %8d %12.1f %9.2f %9.2f %9.2f %9.2f",
+                    mode, clients, histogram.getTotalCount(), errors,
+                    histogram.getTotalCount() / (double) seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
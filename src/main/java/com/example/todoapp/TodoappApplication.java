@@ -2,12 +2,14 @@ package com.example.todoapp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.security.autoconfigure.UserDetailsServiceAutoConfiguration;
 // Main Entry
 // including 3 annotation
 // 1. @Configuration
 // 2. @EnableAutoConfiguration
 // 3. @ComponentScane
-@SpringBootApplication
+// No generated in-memory user: the only principal is the user id from the token filter (@CurrentUserId)
+@SpringBootApplication(exclude = UserDetailsServiceAutoConfiguration.class)
 public class TodoappApplication {
 	// main method: start
 	public static void main(String[] args) {
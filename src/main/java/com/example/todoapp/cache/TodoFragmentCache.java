@@ -0,0 +1,85 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Pre-serialized JSON of single todos, reused by every JSON list/page response (TodoFragmentSerializer)
+// - keyed by id, a fragment is reused only while the todo's updatedAt and position are unchanged
+//   (an edit sets a new updatedAt, a move only a new position), otherwise it is written again
+// - deleted and archived todos are evicted after commit (TodoChangedEvent)
+// - a list that mostly didn't change since the last request is copied together from cached bytes
+//   instead of formatting each todo (and its two @JsonFormat dates) again
+// - bounded by entry count (Caffeine's admission policy keeps one-off scans such as /export from
+//   pushing out the todos that are listed over and over)
+// - hit/miss/eviction statistics: /actuator/metrics/cache.gets?tag=cache:todoFragments
+@Component
+public class TodoFragmentCache {
+
+    public static final String CACHE_NAME = "todoFragments";
+
+    // Serializes the fragments: Spring Boot's JSON mapper (spring.jackson.* settings and modules),
+    // which has no TodoFragmentSerializer (SerializationConfig adds it to the HTTP converter's copy only)
+    private final JsonMapper jsonMapper;
+    private final Cache<Long, Fragment> fragments;
+
+    public TodoFragmentCache(JsonMapper jsonMapper,
+                             @Value("${todo.cache.fragments.maximum-size:100000}") long maximumSize,
+                             MeterRegistry meterRegistry) {
+        this.jsonMapper = jsonMapper;
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, CACHE_NAME);
+    }
+
+    // JSON of the todo ({"id":..,"title":..,...}), from the cache when this version was written before
+    public SerializableString get(TodoResponseDto todo) {
+        if (todo.getId() == null || todo.getUpdatedAt() == null) {
+            return serialize(todo);     // Not a stored version of a todo: nothing to key it by
+        }
+        Fragment cached = fragments.getIfPresent(todo.getId());
+        if (cached != null && cached.isOf(todo)) {
+            return cached.json();
+        }
+        Fragment fragment = new Fragment(todo.getUpdatedAt(), todo.getPosition(), serialize(todo));
+        fragments.put(todo.getId(), fragment);
+        return fragment.json();
+    }
+
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.getDeleted() != null) {
+            fragments.invalidateAll(event.getDeleted());
+        }
+    }
+
+    // The same todo without the cache (for formats other than JSON)
+    public JsonMapper mapper() {
+        return jsonMapper;
+    }
+
+    private SerializedString serialize(TodoResponseDto todo) {
+        return new SerializedString(jsonMapper.writeValueAsString(todo));
+    }
+
+    private record Fragment(LocalDateTime updatedAt, String position, SerializedString json) {
+
+        boolean isOf(TodoResponseDto todo) {
+            return updatedAt.equals(todo.getUpdatedAt()) && Objects.equals(position, todo.getPosition());
+        }
+    }
+}
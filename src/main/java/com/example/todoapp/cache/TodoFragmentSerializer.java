@@ -0,0 +1,29 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.TodoResponseDto;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteCapability;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+// Writes a TodoResponseDto as its cached JSON fragment (TodoFragmentCache), copied in as a raw value
+// Registered on the HTTP JSON converter's mapper only (SerializationConfig); should it end up on a
+// binary generator (CBOR), which cannot take raw JSON, the todo is written field by field instead
+public class TodoFragmentSerializer extends StdSerializer<TodoResponseDto> {
+
+    private final TodoFragmentCache todoFragmentCache;
+
+    public TodoFragmentSerializer(TodoFragmentCache todoFragmentCache) {
+        super(TodoResponseDto.class);
+        this.todoFragmentCache = todoFragmentCache;
+    }
+
+    @Override
+    public void serialize(TodoResponseDto value, JsonGenerator gen, SerializationContext ctxt) {
+        if (gen.streamWriteCapabilities().isEnabled(StreamWriteCapability.CAN_WRITE_FORMATTED_NUMBERS)) {
+            gen.writeRawValue(todoFragmentCache.get(value));    // Textual JSON
+        } else {
+            gen.writeTree(todoFragmentCache.mapper().valueToTree(value));
+        }
+    }
+}
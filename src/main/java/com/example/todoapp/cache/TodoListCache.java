@@ -0,0 +1,60 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.TodoPageResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Read-through cache of todo list pages per user: every page of every list request
+// (view, filter, page size and cursor make up the key passed in by TodoService)
+// - bounded by entry count and time since write (Caffeine)
+// - keyed by the user's TodoVersions version: a committed mutation moves the user to a new
+//   version, so no page loaded before the change is served again, first or later (they simply age out)
+// - hit/miss/eviction statistics: /actuator/metrics/cache.gets, cache.evictions (cache=todoLists)
+@Component
+public class TodoListCache {
+
+    public static final String CACHE_NAME = "todoLists";
+
+    private final Cache<Key, TodoPageResponse<?>> pages;
+    private final TodoVersions todoVersions;
+
+    public TodoListCache(@Value("${todo.cache.list.maximum-size:10000}") long maximumSize,
+                         @Value("${todo.cache.list.expire-after-write:10m}") Duration expireAfterWrite,
+                         TodoVersions todoVersions,
+                         MeterRegistry meterRegistry) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.todoVersions = todoVersions;
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+    }
+
+    public TodoPageResponse<?> get(Long userId, String request, Supplier<TodoPageResponse<?>> loader) {
+        Key key = new Key(userId, todoVersions.current(userId), request);
+
+        TodoPageResponse<?> cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        TodoPageResponse<?> loaded = loader.get();
+        pages.put(key, loaded);
+        return loaded;
+    }
+
+    public void invalidate(Long userId) {
+        todoVersions.bump(userId);
+    }
+
+    private record Key(Long userId, long version, String request) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.event.TodoChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user version of the todo data, bumped after each committed TodoService mutation
+// - versions come from one increasing clock, so a user's version never repeats:
+//   a forgotten (evicted) user simply starts over at a newer value
+// - used as the TodoListCache generation and as the ETag of the todo endpoints
+//   (the epoch part keeps ETags from an earlier run of the app from ever matching)
+@Component
+@Slf4j
+public class TodoVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<Long, Long> versions;
+
+    public TodoVersions(@Value("${todo.cache.versions.maximum-size:100000}") long maximumSize,
+                        @Value("${todo.cache.versions.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public long current(Long userId) {
+        return versions.get(userId, id -> clock.incrementAndGet());
+    }
+
+    // Weak ETag of everything the user can read: W/"<epoch>-<version>"
+    // Weak: the same version is sent as JSON or CBOR, gzipped or not, so it names the data, not the bytes
+    // Read it BEFORE loading the data, so a change racing the read can only make the tag older
+    public String etag(Long userId) {
+        return "W/\"" + epoch + "-" + current(userId) + "\"";
+    }
+
+    public void bump(Long userId) {
+        versions.put(userId, clock.incrementAndGet());
+    }
+
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        log.debug("사용자 {}의 할일 버전 증가", event.getUserId());
+        bump(event.getUserId());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+// In-memory Bloom filter of taken usernames
+// - "not in the filter" is certain: the username is free, no query needed
+// - "in the filter" may be a false positive (todo.auth.username-filter.false-positive-rate),
+//   the caller then asks the database
+// Filled from the users table once the app is ready and on every signup; until the warm-up
+// has finished every lookup answers "maybe taken"
+// Lookups: todo.auth.username.filter (tag result = free | maybe-taken)
+@Component
+@Slf4j
+public class UsernameFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile boolean ready;
+
+    private final Counter free;
+    private final Counter maybeTaken;
+
+    public UsernameFilter(UserRepository userRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${todo.auth.username-filter.expected-usernames:1000000}") long expectedUsernames,
+                          @Value("${todo.auth.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        // Standard sizing: m = -n ln p / (ln 2)^2 bits, k = m / n ln 2 hash functions
+        long bitsNeeded = (long) Math.ceil(-expectedUsernames * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitsNeeded + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedUsernames * Math.log(2)));
+
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.free = Counter.builder("todo.auth.username.filter")
+                .description("Username availability lookups answered by the Bloom filter")
+                .tag("result", "free")
+                .register(meterRegistry);
+        this.maybeTaken = Counter.builder("todo.auth.username.filter")
+                .description("Username availability lookups answered by the Bloom filter")
+                .tag("result", "maybe-taken")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long count = readOnlyTransaction.execute(status -> {
+            try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                return usernames.peek(this::add).count();
+            }
+        });
+        ready = true;
+        log.info("아이디 필터 준비 완료: {}개 ({} bits, 해시 {}개)", count, bitCount, hashCount);
+    }
+
+    public void add(String username) {
+        long[] hashes = hash(username);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hashes, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            // Lock-free set of one bit
+            long current;
+            while (((current = bits.get(word)) & mask) == 0
+                    && !bits.compareAndSet(word, current, current | mask)) {
+                // retry: another bit in the same word changed
+            }
+        }
+    }
+
+    // false: certainly free; true: possibly taken (check the database)
+    public boolean mightContain(String username) {
+        if (!ready) {
+            return true;
+        }
+        long[] hashes = hash(username);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hashes, i);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                free.increment();
+                return false;
+            }
+        }
+        maybeTaken.increment();
+        return true;
+    }
+
+    // Double hashing: k indexes from two 64-bit hashes (h1 + i * h2)
+    private long index(long[] hashes, int i) {
+        return Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+    }
+
+    private static long[] hash(String username) {
+        byte[] bytes = username.getBytes(StandardCharsets.UTF_8);
+        // FNV-1a, then a murmur3 finalizer for a second independent-enough hash
+        long h1 = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h1 ^= b;
+            h1 *= 0x100000001b3L;
+        }
+        long h2 = h1;
+        h2 ^= h2 >>> 33;
+        h2 *= 0xff51afd7ed558ccdL;
+        h2 ^= h2 >>> 33;
+        h2 *= 0xc4ceb9fe1a85ec53L;
+        h2 ^= h2 >>> 33;
+        return new long[]{h1, h2 | 1};
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.metrics.QueryCountingListener;
+import com.example.todoapp.metrics.SlowQueryListener;
+import com.example.todoapp.metrics.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Wraps the pooled DataSource so every JDBC statement (Hibernate and plain JDBC) passes
+// QueryCountingListener (per-request statement count) and SlowQueryListener
+// The proxy implements Wrapper, so Hikari pool metrics still find the HikariDataSource underneath
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            ObjectProvider<SlowQueryLog> slowQueryLog,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${todo.slow-query.threshold:200ms}") Duration threshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new QueryCountingListener())
+                        .listener(new SlowQueryListener(slowQueryLog.getObject(), threshold,
+                                meterRegistry.getObject()))
+                        .build();
+            }
+        };
+    }
+}
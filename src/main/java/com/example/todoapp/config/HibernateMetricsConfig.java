@@ -0,0 +1,24 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.metrics.EntityLoadCountingIntegrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+// Hooks the per-request entity load counter into Hibernate (recorded by RequestQueryMetricsFilter)
+// SQL statements are counted on the JDBC side (DataSourceProxyConfig), so plain JDBC is included
+@Configuration
+public class HibernateMetricsConfig {
+
+    // org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCountingCustomizer() {
+        return properties -> properties.put(INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(new EntityLoadCountingIntegrator()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.todoapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled background jobs (e.g. TodoStatsService.reconcile)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,58 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.cache.TodoFragmentCache;
+import com.example.todoapp.cache.TodoFragmentSerializer;
+import com.example.todoapp.dto.TodoResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+// Response encodings of the REST API
+// - JSON (default): Spring Boot's JSON mapper plus TodoFragmentSerializer, so todos are written
+//   from cached per-todo fragments (TodoFragmentCache)
+// - CBOR: binary JSON for clients sending "Accept: application/cbor" (smaller, no number/date text parsing),
+//   Spring Boot's CBOR mapper (same spring.jackson.* settings and modules as JSON)
+//   JSON stays ahead of CBOR in the converter order, so "Accept: */*" (fetch, curl) still gets JSON
+// - gzip for large responses: server.compression.* in application.properties
+// Only the HTTP converters get the fragment serializer: Boot's JsonMapper bean itself stays plain,
+// it is what writes the fragments
+@Configuration
+@RequiredArgsConstructor
+public class SerializationConfig implements WebMvcConfigurer {
+
+    private final JsonMapper jsonMapper;
+    private final CBORMapper cborMapper;
+    private final TodoFragmentCache todoFragmentCache;
+
+    // Replaces Spring Boot's JSON converter (it backs off when one is defined)
+    @Bean
+    public JacksonJsonHttpMessageConverter jacksonJsonHttpMessageConverter() {
+        return new JacksonJsonHttpMessageConverter(fragmentMapper(jsonMapper, todoFragmentCache));
+    }
+
+    // Boot has no CBOR converter of its own: without this one Spring would build a default CBORMapper
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+
+    // The given mapper with TodoResponseDto written from fragments
+    public static JsonMapper fragmentMapper(JsonMapper jsonMapper, TodoFragmentCache todoFragmentCache) {
+        return jsonMapper.rebuild()
+                .addModule(fragmentModule(todoFragmentCache))
+                .build();
+    }
+
+    private static JacksonModule fragmentModule(TodoFragmentCache todoFragmentCache) {
+        return new SimpleModule("todoFragments")
+                .addSerializer(TodoResponseDto.class, new TodoFragmentSerializer(todoFragmentCache));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.dto.LoginRequest;
+import com.example.todoapp.dto.LoginResponse;
+import com.example.todoapp.dto.SignupRequest;
+import com.example.todoapp.dto.UserResponse;
+import com.example.todoapp.dto.UsernameAvailabilityResponse;
+import com.example.todoapp.security.CurrentUserId;
+import com.example.todoapp.service.AuthService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+//Auth Controller
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class AuthController {
+
+    private final AuthService authService;
+
+    //Create an account
+    //POST /api/auth/signup
+    @PostMapping("/signup")
+    public ResponseEntity<UserResponse> signup(@Valid @RequestBody SignupRequest request) {
+        log.info("Request: Signup");
+        UserResponse user = authService.signup(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(user);
+    }
+
+    //Whether a username can still be taken (checked while the signup form is typed)
+    //GET /api/auth/username-available?username=...
+    @GetMapping("/username-available")
+    public ResponseEntity<UsernameAvailabilityResponse> isUsernameAvailable(@RequestParam String username) {
+        boolean available = authService.isUsernameAvailable(username);
+        return ResponseEntity.ok(new UsernameAvailabilityResponse(username, available));
+    }
+
+    //Log in and receive an access token
+    //POST /api/auth/login
+    //Send the token as "Authorization: Bearer <token>" on every /api/todos request
+    @PostMapping("/login")
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+        log.info("Request: Login");
+        LoginResponse response = authService.login(request);
+        return ResponseEntity.ok(response);
+    }
+
+    //Profile of the authenticated user
+    //GET /api/auth/me
+    @GetMapping("/me")
+    public ResponseEntity<UserResponse> getMyInfo(@CurrentUserId Long userId) {
+        log.info("Request: Get my info");
+        UserResponse user = authService.getMyInfo(userId);
+        return ResponseEntity.ok(user);
+    }
+}
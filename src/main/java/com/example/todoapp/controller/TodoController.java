@@ -1,15 +1,45 @@
 package com.example.todoapp.controller;
 
+import com.example.todoapp.dto.TodoBatchCreateRequestDto;
+import com.example.todoapp.dto.TodoBatchResponseDto;
+import com.example.todoapp.dto.TodoChangesResponseDto;
+import com.example.todoapp.dto.TodoFileFormat;
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoIdsRequestDto;
+import com.example.todoapp.dto.TodoImportResponseDto;
+import com.example.todoapp.dto.TodoMoveRequestDto;
+import com.example.todoapp.dto.TodoPageResponse;
 import com.example.todoapp.dto.TodoRequestDto;
 import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.dto.TodoSort;
+import com.example.todoapp.dto.TodoStatsResponseDto;
+import com.example.todoapp.dto.TodoView;
+import com.example.todoapp.security.CurrentUserId;
+import com.example.todoapp.service.TodoArchiveService;
+import com.example.todoapp.service.TodoExportService;
+import com.example.todoapp.service.TodoImportService;
 import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoStatsService;
+import com.example.todoapp.service.TodoStreamService;
+import com.example.todoapp.service.TodoSyncService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 //Todo Controller
@@ -17,61 +47,217 @@ import java.util.List;
 @RequestMapping("/api/todos")   //Base path for all endpoints in controller
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*") //Enables CORS for frontend integration
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG) //Enables CORS for frontend integration
 public class TodoController {
 
+    //Per-user data: browsers/proxies may keep it privately but must revalidate (ETag) before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TodoService todoService;
+    private final TodoExportService todoExportService;
+    private final TodoImportService todoImportService;
+    private final TodoStatsService todoStatsService;
+    private final TodoSyncService todoSyncService;
+    private final TodoStreamService todoStreamService;
+    private final TodoArchiveService todoArchiveService;
 
-    //Retrieve all todos or Filter by status
-    //GET /api/todos?completed=true
+    //Retrieve todos page by page, filtered and sorted
+    //GET /api/todos?completed=false&createdFrom=2026-02-01T00:00:00&keyword=java&sort=updated_desc&after={nextCursor}&limit=20&view=summary
+    //Every filter is optional, they are combined with AND (always within the user's own todos)
+    //userId: id of the authenticated user (principal)
+    //ETag (weak): version of the user's todos in any encoding; If-None-Match with the current one answers 304 (no query)
+    //Accept: application/cbor for a binary body (default JSON); large bodies are gzipped on Accept-Encoding
     @GetMapping
-    public ResponseEntity<List<TodoResponseDto>> getAllTodos(
-            @RequestParam(required = false) Boolean completed)   //Optional query parameter for filtering
+    public ResponseEntity<TodoPageResponse<?>> getAllTodos(
+            @CurrentUserId Long userId,
+            WebRequest webRequest,
+            @RequestParam(required = false) Boolean completed,  //Optional query parameter for filtering
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime createdFrom,                          //Created at or after
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime createdTo,                            //Created before
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime updatedFrom,                          //Modified at or after
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime updatedTo,                            //Modified before
+            @RequestParam(required = false) String keyword,     //Words in title or description
+            @RequestParam(required = false) String sort,        //created_desc (default), created_asc, updated_desc, updated_asc, manual
+            @RequestParam(required = false) String after,       //Opaque cursor returned as nextCursor
+            @RequestParam(required = false) Integer limit,      //Page size
+            @RequestParam(required = false) String view)        //full (default) or summary (no description)
     {
-        log.info("Request: Get all todos (Filtered by completed: {})", completed);
-
-        List<TodoResponseDto> todos;
-        if (completed != null) {
-            todos = todoService.getTodoByCompleted(completed);
-        } else {
-            todos = todoService.getAllTodos();
+        TodoFilter filter = TodoFilter.builder()
+                .completed(completed)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .updatedFrom(updatedFrom)
+                .updatedTo(updatedTo)
+                .keyword(keyword)
+                .sort(TodoSort.from(sort))
+                .build();
+        log.info("Request: Get todos (Filter: {}, after: {}, limit: {}, view: {})", filter, after, limit, view);
+        String etag = todoService.getTodosETag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;    //304 Not Modified, headers already set
         }
+        TodoPageResponse<?> todos = todoService.getTodos(userId, filter, after, limit, TodoView.from(view));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)    //JSON or CBOR from the same URL
+                .body(todos);
+    }
 
+    //Dashboard numbers: total/completed/open and activity of the last N days
+    //GET /api/todos/stats?days=7
+    @GetMapping("/stats")
+    public ResponseEntity<TodoStatsResponseDto> getStats(
+            @CurrentUserId Long userId,
+            @RequestParam(required = false) Integer days)   //1~90 (default 7)
+    {
+        log.info("Request: Get todo stats (days: {})", days);
+        TodoStatsResponseDto stats = todoStatsService.getStats(userId, days);
+        return ResponseEntity.ok(stats);
+    }
+
+    //Archived todos: completed long ago and moved out of the list (most recently completed first)
+    //GET /api/todos/archive?after={nextCursor}&limit=20
+    //Toggling an archived todo (PATCH /{id}/toggle) brings it back to the list as open
+    @GetMapping("/archive")
+    public ResponseEntity<TodoPageResponse<TodoResponseDto>> getArchivedTodos(
+            @CurrentUserId Long userId,
+            @RequestParam(required = false) String after,       //Opaque cursor returned as nextCursor
+            @RequestParam(required = false) Integer limit)      //Page size
+    {
+        log.info("Request: Get archived todos (after: {}, limit: {})", after, limit);
+        TodoPageResponse<TodoResponseDto> todos = todoArchiveService.getArchivedTodos(userId, after, limit);
         return ResponseEntity.ok(todos);
     }
 
+    //Changes since the last sync: created/modified todos and ids of deleted ones
+    //GET /api/todos/changes?since={syncToken}
+    //Without "since": only a fresh syncToken (take it before loading the list)
+    @GetMapping("/changes")
+    public ResponseEntity<TodoChangesResponseDto> getChanges(
+            @CurrentUserId Long userId,
+            @RequestParam(required = false) String since)   //syncToken of the previous call
+    {
+        log.info("Request: Get todo changes (since: {})", since);
+        TodoChangesResponseDto changes = todoSyncService.getChanges(userId, since);
+        return ResponseEntity.ok(changes);
+    }
+
+    //Live change feed (Server-Sent Events), one per open tab
+    //GET /api/todos/stream
+    //- "changes": {"changed": [...], "deleted": [...]} right after a change is committed
+    //- "sync": catch up with GET /changes (on connect, after missed events, after batch changes)
+    //- comment lines: heartbeat
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@CurrentUserId Long userId) {
+        log.info("Request: Open todo change stream");
+        SseEmitter emitter = todoStreamService.subscribe(userId);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no")     //Reverse proxies (nginx) must not buffer the events
+                .body(emitter);
+    }
+
     //Retrieve a single Todo by ID
     //GET /api/todos/{id}
+    //ETag / If-None-Match: same as the list
     @GetMapping("/{id}")
-    public ResponseEntity<TodoResponseDto> getTodoById(@PathVariable Long id)
+    public ResponseEntity<TodoResponseDto> getTodoById(
+            @CurrentUserId Long userId,
+            WebRequest webRequest,
+            @PathVariable Long id)
     {
         log.info("Request: Get todo by ID ({})", id);
-        TodoResponseDto todo = todoService.getTodoById(id);
-        return ResponseEntity.ok(todo);
+        String etag = todoService.getTodosETag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;    //304 Not Modified, headers already set
+        }
+        TodoResponseDto todo = todoService.getTodoById(userId, id);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)    //JSON or CBOR from the same URL
+                .body(todo);
     }
 
     //Create a new Todo
     //POST /api/todos
     @PostMapping
     public ResponseEntity<TodoResponseDto> createTodo(
+            @CurrentUserId Long userId,
             //@Valid: Triggers DTO validation (@NotBlank, @Size)
             //@RequestBody: Deserializes incoming JSON into a DTO object
             @Valid @RequestBody TodoRequestDto requestDto)
     {
         log.info("Request: Create todo with title: {}", requestDto.getTitle());
-        TodoResponseDto createdTodo = todoService.createTodo(id, requestDto);
+        TodoResponseDto createdTodo = todoService.createTodo(userId, requestDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTodo);
     }
 
+    //Create many Todos in one transaction (batched INSERTs)
+    //POST /api/todos/batch
+    @PostMapping("/batch")
+    public ResponseEntity<TodoBatchResponseDto> createTodos(
+            @CurrentUserId Long userId,
+            @Valid @RequestBody TodoBatchCreateRequestDto requestDto)
+    {
+        log.info("Request: Create {} todos", requestDto.getTodos().size());
+        TodoBatchResponseDto result = todoService.createTodos(userId, requestDto.getTodos());
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    //Import Todos from an NDJSON/CSV body (e.g. a file from /export)
+    //POST /api/todos/import?format=ndjson|csv
+    //InputStream: the body is read line by line while saving, never loaded as a whole
+    @PostMapping("/import")
+    public ResponseEntity<TodoImportResponseDto> importTodos(
+            @CurrentUserId Long userId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body) throws IOException
+    {
+        log.info("Request: Import todos as {}", format);
+        TodoImportResponseDto result = todoImportService.importTodos(userId, TodoFileFormat.from(format), body);
+        return ResponseEntity.ok(result);
+    }
+
+    //Toggle the completion status of many Todos with one UPDATE
+    //PATCH /api/todos/batch/toggle
+    @PatchMapping("/batch/toggle")
+    public ResponseEntity<TodoBatchResponseDto> toggleTodosCompleted(
+            @CurrentUserId Long userId,
+            @Valid @RequestBody TodoIdsRequestDto requestDto)
+    {
+        log.info("Request: Toggle status for {} todos", requestDto.getIds().size());
+        TodoBatchResponseDto result = todoService.toggleTodosCompleted(userId, requestDto.getIds());
+        return ResponseEntity.ok(result);
+    }
+
+    //Delete many Todos with one DELETE
+    //DELETE /api/todos/batch
+    @DeleteMapping("/batch")
+    public ResponseEntity<TodoBatchResponseDto> deleteTodos(
+            @CurrentUserId Long userId,
+            @Valid @RequestBody TodoIdsRequestDto requestDto)
+    {
+        log.info("Request: Delete {} todos", requestDto.getIds().size());
+        TodoBatchResponseDto result = todoService.deleteTodos(userId, requestDto.getIds());
+        return ResponseEntity.ok(result);
+    }
+
     //Update an existing Todo
     //PUT /api/todos/{id}
     @PutMapping("/{id}")
     public ResponseEntity<TodoResponseDto> updateTodo(
+            @CurrentUserId Long userId,
             @PathVariable Long id,
             @Valid @RequestBody TodoRequestDto requestDto)
     {
         log.info("Request: Update todo ID: {}", id);
-        TodoResponseDto updatedTodo = todoService.updateTodo(id, id,requestDto);
+        TodoResponseDto updatedTodo = todoService.updateTodo(userId, id, requestDto);
         return ResponseEntity.ok(updatedTodo);
     }
 
@@ -79,31 +265,74 @@ public class TodoController {
     //PATCH /api/todos/{id}/toggle
     //PATCH is used for partial updates
     @PatchMapping("/{id}/toggle")
-    public ResponseEntity<TodoResponseDto> toggleTodoCompleted(@PathVariable Long id)
+    public ResponseEntity<TodoResponseDto> toggleTodoCompleted(
+            @CurrentUserId Long userId,
+            @PathVariable Long id)
     {
         log.info("Request: Toggle status for ID: {}", id);
-        TodoResponseDto todo = todoService.toggleTodoCompleted(id, id);
+        TodoResponseDto todo = todoService.toggleTodoCompleted(userId, id);
+        return ResponseEntity.ok(todo);
+    }
+
+    //Move a Todo in the manual order (?sort=manual): only the moved todo is written
+    //PATCH /api/todos/{id}/move  {"afterId": 12}  (null: to the top)
+    @PatchMapping("/{id}/move")
+    public ResponseEntity<TodoResponseDto> moveTodo(
+            @CurrentUserId Long userId,
+            @PathVariable Long id,
+            @RequestBody TodoMoveRequestDto requestDto)
+    {
+        log.info("Request: Move todo ID: {} below: {}", id, requestDto.getAfterId());
+        TodoResponseDto todo = todoService.moveTodo(userId, id, requestDto.getAfterId());
         return ResponseEntity.ok(todo);
     }
 
     //Delete a Todo by ID
     //DELETE /api/todos/{id}
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTodo(@PathVariable Long id)
+    public ResponseEntity<Void> deleteTodo(
+            @CurrentUserId Long userId,
+            @PathVariable Long id)
     {
         log.info("Request: Delete todo ID: {}", id);
-        todoService.deleteTodo(id, id);
+        todoService.deleteTodo(userId, id);
         return ResponseEntity.noContent().build();
     }
 
-    //Search Todos by keyword in title or description
-    //GET /api/todos/search?keyword=...
+    //Search Todos by keyword in title or description (ranked by relevance)
+    //GET /api/todos/search?keyword=...&page=0&size=20&view=summary
     @GetMapping("/search")
-    public ResponseEntity<List<TodoResponseDto>> searchTodos(
-            @RequestParam String keyword)
+    public ResponseEntity<List<?>> searchTodos(
+            @CurrentUserId Long userId,
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,     //Zero-based page index
+            @RequestParam(required = false) Integer size,   //Page size
+            @RequestParam(required = false) String view)    //full (default) or summary (no description)
     {
-        log.info("Request: Search todos with keyword: {}", keyword);
-        List<TodoResponseDto> todos = todoService.searchTodos(userId, keyword);
+        log.info("Request: Search todos with keyword: {} (page: {}, size: {}, view: {})", keyword, page, size, view);
+        List<?> todos = todoService.searchTodos(userId, keyword, page, size, TodoView.from(view));
         return ResponseEntity.ok(todos);
     }
-}
\ No newline at end of file
+
+    //Export all Todos as a file, streamed row by row
+    //GET /api/todos/export?format=ndjson|csv
+    //StreamingResponseBody: written on an async thread, the request thread is released at once
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @CurrentUserId Long userId,
+            @RequestParam(defaultValue = "ndjson") String format)
+    {
+        log.info("Request: Export todos as {}", format);
+        TodoFileFormat exportFormat = TodoFileFormat.from(format);
+
+        StreamingResponseBody body = out -> todoExportService.exportTodos(userId, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("todos." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
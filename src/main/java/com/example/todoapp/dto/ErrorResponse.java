@@ -0,0 +1,14 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+// Error body returned by GlobalExceptionHandler
+// { "message": "할일을 찾을 수 없습니다" }
+public class ErrorResponse {
+    private String message;
+}
@@ -8,11 +8,12 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 public class LoginResponse {
-    private String token;
+    private String token;       // Access token: "Authorization: Bearer <token>"
     private UserResponse user;
 
-    public static LoginResponse of (UserResponse user) {
+    public static LoginResponse of(String token, UserResponse user) {
         return LoginResponse.builder()
+                .token(token)
                 .user(user)
                 .build();
     }
@@ -0,0 +1,22 @@
+package com.example.todoapp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+// Request for creating many todos in one transaction
+public class TodoBatchCreateRequestDto {
+
+    // @Valid: every element is checked with the TodoRequestDto rules (@NotBlank, @Size)
+    @Valid
+    @NotEmpty(message = "할일 목록이 비어 있습니다")
+    @Size(max = 500, message = "한 번에 500개까지 생성할 수 있습니다")
+    private List<TodoRequestDto> todos;
+}
@@ -0,0 +1,29 @@
+package com.example.todoapp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// Result of a batch operation
+public class TodoBatchResponseDto {
+    private int affected;                   // Number of rows inserted/updated/deleted
+    private List<TodoResponseDto> todos;    // Created todos (batch create only)
+
+    public static TodoBatchResponseDto of(int affected) {
+        return TodoBatchResponseDto.builder()
+                .affected(affected)
+                .todos(List.of())
+                .build();
+    }
+
+    public static TodoBatchResponseDto of(List<TodoResponseDto> todos) {
+        return TodoBatchResponseDto.builder()
+                .affected(todos.size())
+                .todos(todos)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todoapp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// "changes" event of the live change feed (GET /api/todos/stream)
+public class TodoChangeEventDto {
+    private List<TodoResponseDto> changed;  // Created or modified todos (apply as upserts by id)
+    private List<Long> deleted;             // Ids of deleted todos
+
+    public static TodoChangeEventDto of(List<TodoResponseDto> changed, List<Long> deleted) {
+        return new TodoChangeEventDto(changed, deleted);
+    }
+    // Json converting:
+    //
+    // {
+    // "changed": [ { "id": 3, ... } ],
+    // "deleted": [ 7 ]
+    // }
+}
@@ -0,0 +1,33 @@
+package com.example.todoapp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// Delta of the user's todos since a sync token (GET /api/todos/changes)
+public class TodoChangesResponseDto {
+    private List<TodoResponseDto> changed;  // Created or modified todos (apply as upserts by id)
+    private List<Long> deleted;             // Ids of deleted todos
+    private String syncToken;               // Pass as "since" on the next call
+    private boolean fullResync;             // true: too many or too old changes, reload the whole list
+
+    public static TodoChangesResponseDto of(List<TodoResponseDto> changed, List<Long> deleted, String syncToken) {
+        return new TodoChangesResponseDto(changed, deleted, syncToken, false);
+    }
+
+    public static TodoChangesResponseDto resync(String syncToken) {
+        return new TodoChangesResponseDto(List.of(), List.of(), syncToken, true);
+    }
+    // Json converting:
+    //
+    // {
+    // "changed": [ { "id": 3, ... } ],
+    // "deleted": [ 7, 9 ],
+    // "syncToken": "MjAyNi0wMi0xN1QxNTozMDozMA",
+    // "fullResync": false
+    // }
+}
@@ -0,0 +1,66 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+// Keyset position of the last todo on a page (sort column + id, see TodoSort)
+// Sent to the client as an opaque Base64 string: "after" parameter / "nextCursor" field
+public class TodoCursor {
+    private static final String SEPARATOR = "|";
+    private static final String POSITION_PREFIX = "@";  // Manual order cursor (a time never starts with it)
+
+    private LocalDateTime time;     // createdAt or updatedAt, whichever the list is sorted by; completedAt in the archive (null: manual order)
+    private String position;        // Manual order key (null: sorted by time)
+    private Long id;
+
+    public static TodoCursor of(TodoResponseDto todo, TodoSort sort) {
+        if (sort.isManual()) {
+            return new TodoCursor(null, todo.getPosition(), todo.getId());
+        }
+        return new TodoCursor(sort.isByUpdated() ? todo.getUpdatedAt() : todo.getCreatedAt(), null, todo.getId());
+    }
+
+    public static TodoCursor of(TodoSummaryDto todo, TodoSort sort) {
+        if (sort.isManual()) {
+            return new TodoCursor(null, todo.getPosition(), todo.getId());
+        }
+        return new TodoCursor(sort.isByUpdated() ? todo.getUpdatedAt() : todo.getCreatedAt(), null, todo.getId());
+    }
+
+    // A cursor only continues a list in the order it came from
+    public boolean matches(TodoSort sort) {
+        return sort.isManual() ? position != null : time != null;
+    }
+
+    public String encode() {
+        String raw = (position != null ? POSITION_PREFIX + position : time.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (index < 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다");
+            }
+            String key = raw.substring(0, index);
+            Long id = Long.valueOf(raw.substring(index + 1));
+            if (key.startsWith(POSITION_PREFIX)) {
+                return new TodoCursor(null, key.substring(POSITION_PREFIX.length()), id);
+            }
+            return new TodoCursor(LocalDateTime.parse(key), null, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException is an IllegalArgumentException as well
+            throw new IllegalArgumentException("잘못된 커서입니다");
+        }
+    }
+}
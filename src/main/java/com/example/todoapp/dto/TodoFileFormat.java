@@ -0,0 +1,26 @@
+package com.example.todoapp.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+// File formats of GET /api/todos/export and POST /api/todos/import (?format=...)
+@Getter
+@RequiredArgsConstructor
+public enum TodoFileFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson;charset=UTF-8"), "ndjson"),  // one JSON object per line
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");                   // header line + one row per todo
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    public static TodoFileFormat from(String value) {
+        try {
+            return TodoFileFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("format은 ndjson 또는 csv만 가능합니다");
+        }
+    }
+}
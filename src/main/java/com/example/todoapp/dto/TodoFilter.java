@@ -0,0 +1,64 @@
+package com.example.todoapp.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+// Conditions of the todo list (GET /api/todos), always applied to the todos of one user
+// Every condition is optional; the ones that are set are combined with AND into one SQL statement
+// (TodoFilterRepository)
+public class TodoFilter {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]");
+
+    private Boolean completed;              // null: open and completed
+    private LocalDateTime createdFrom;      // createdAt >= createdFrom
+    private LocalDateTime createdTo;        // createdAt < createdTo
+    private LocalDateTime updatedFrom;      // updatedAt >= updatedFrom
+    private LocalDateTime updatedTo;        // updatedAt < updatedTo
+    private String keyword;                 // Words in title or description (prefix match)
+    @Builder.Default
+    private TodoSort sort = TodoSort.CREATED_DESC;
+
+    public static TodoFilter all() {
+        return TodoFilter.builder().build();
+    }
+
+    public static TodoFilter byCompleted(Boolean completed) {
+        return TodoFilter.builder().completed(completed).build();
+    }
+
+    // keyword as a to_tsquery expression ("" when there is no usable word)
+    public String getSearchQuery() {
+        return toPrefixTsQuery(keyword);
+    }
+
+    public void validate() {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new IllegalArgumentException("createdFrom은 createdTo보다 앞이어야 합니다");
+        }
+        if (updatedFrom != null && updatedTo != null && !updatedFrom.isBefore(updatedTo)) {
+            throw new IllegalArgumentException("updatedFrom은 updatedTo보다 앞이어야 합니다");
+        }
+    }
+
+    // "java  study!" -> "java:* & study:*"
+    // Only letters and digits are kept, so user input can never break the tsquery syntax
+    public static String toPrefixTsQuery(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        return WHITESPACE.splitAsStream(keyword.trim())
+                .map(term -> NON_WORD.matcher(term).replaceAll(""))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
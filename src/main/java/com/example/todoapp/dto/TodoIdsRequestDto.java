@@ -0,0 +1,20 @@
+package com.example.todoapp.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+// Request for toggling/deleting many todos at once
+public class TodoIdsRequestDto {
+
+    @NotEmpty(message = "할일 ID 목록이 비어 있습니다")
+    @Size(max = 1000, message = "한 번에 1000개까지 처리할 수 있습니다")
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,15 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+// One rejected line of an import
+// { "line": 12, "message": "제목은 필수입니다" }
+public class TodoImportErrorDto {
+    private long line;          // 1-based line number in the uploaded body
+    private String message;     // Why the line was not imported
+}
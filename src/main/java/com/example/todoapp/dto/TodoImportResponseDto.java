@@ -0,0 +1,17 @@
+package com.example.todoapp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// Result of POST /api/todos/import
+public class TodoImportResponseDto {
+    private long imported;                  // Todos saved
+    private long failed;                    // Lines rejected (validation, parse or save errors)
+    private List<TodoImportErrorDto> errors; // Per-line errors (at most the first 1000)
+    private boolean errorsTruncated;        // true: more errors than listed in "errors"
+}
@@ -0,0 +1,18 @@
+package com.example.todoapp.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+// Request for moving a todo in the manual order (PATCH /api/todos/{id}/move)
+public class TodoMoveRequestDto {
+
+    private Long afterId;   // Todo that ends up right above the moved one (null: move to the top)
+
+    // Json converting:
+    //
+    // { "afterId": 12 }     -> right below todo 12
+    // { "afterId": null }   -> top of the list
+}
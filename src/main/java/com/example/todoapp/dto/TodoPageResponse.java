@@ -0,0 +1,29 @@
+package com.example.todoapp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// One page of todos for keyset (cursor) pagination
+// T: TodoResponseDto (full view) or TodoSummaryDto (summary view)
+public class TodoPageResponse<T> {
+    private List<T> items;      // Todos on this page
+    private String nextCursor;  // Pass as "after" to get the next page (null: last page)
+
+    public static <T> TodoPageResponse<T> of(List<T> items, String nextCursor) {
+        return TodoPageResponse.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    // Json converting:
+    //
+    // {
+    // "items": [ { "id": 3, ... }, { "id": 2, ... } ],
+    // "nextCursor": "MjAyNi0wMi0xN1QxNTozMDozMHwy"
+    // }
+}
@@ -1,6 +1,8 @@
 package com.example.todoapp.dto;
 
+import com.example.todoapp.entity.ArchivedTodo;
 import com.example.todoapp.entity.Todo;
+import com.example.todoapp.repository.TodoRow;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -23,6 +25,14 @@ public class TodoResponseDto {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
     private LocalDateTime updatedAt;
 
+    private String position;        //Manual order key (?sort=manual sorts by it, compare as plain strings)
+
+    // Without a position (archived todos are not in the manual order)
+    public TodoResponseDto(Long id, String title, String description, Boolean completed,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, description, completed, createdAt, updatedAt, null);
+    }
+
     // convert Todo entity into TodoResponseDto
     public static TodoResponseDto fromEntity(Todo todo) {
         return TodoResponseDto.builder()
@@ -32,8 +42,26 @@ public class TodoResponseDto {
                 .completed(todo.getCompleted())
                 .createdAt(todo.getCreatedAt())
                 .updatedAt(todo.getUpdatedAt())
+                .position(todo.getPosition())
                 .build();
     }
+    // convert a TodoRow projection (native UPDATE ... RETURNING) into TodoResponseDto
+    public static TodoResponseDto fromRow(TodoRow row) {
+        return TodoResponseDto.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .completed(row.getCompleted())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .position(row.getPosition())
+                .build();
+    }
+    // convert an ArchivedTodo entity into TodoResponseDto (always completed, no position)
+    public static TodoResponseDto fromArchived(ArchivedTodo todo) {
+        return new TodoResponseDto(todo.getId(), todo.getTitle(), todo.getDescription(), true,
+                todo.getCreatedAt(), todo.getUpdatedAt());
+    }
     // Json converting:
     // TodoResponseDto = ...;
     //
@@ -43,6 +71,7 @@ public class TodoResponseDto {
     // "description": "java learning",
     // "completed" : false,
     // "createdAt": "2026-02-17 15:30:30"
-    // "updatedAt": "2026-02-17 15:30:30:
+    // "updatedAt": "2026-02-17 15:30:30",
+    // "position": "V"
     // }
 }
@@ -0,0 +1,47 @@
+package com.example.todoapp.dto;
+
+import java.util.Locale;
+
+// Order of the todo list (?sort=), always with the id as tie-breaker
+// The keyset cursor holds the sort column and the id of the last todo (TodoCursor)
+// ?sort=created_desc (default), created_asc, updated_desc, updated_asc, manual (position, PATCH /{id}/move)
+public enum TodoSort {
+    CREATED_DESC(false, true, false),
+    CREATED_ASC(false, false, false),
+    UPDATED_DESC(true, true, false),
+    UPDATED_ASC(true, false, false),
+    MANUAL(false, false, true);
+
+    private final boolean byUpdated;
+    private final boolean descending;
+    private final boolean manual;
+
+    TodoSort(boolean byUpdated, boolean descending, boolean manual) {
+        this.byUpdated = byUpdated;
+        this.descending = descending;
+        this.manual = manual;
+    }
+
+    public boolean isByUpdated() {
+        return byUpdated;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public boolean isManual() {
+        return manual;
+    }
+
+    public static TodoSort from(String value) {
+        if (value == null || value.isBlank()) {
+            return CREATED_DESC;
+        }
+        try {
+            return TodoSort.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("sort는 created_desc, created_asc, updated_desc, updated_asc, manual만 가능합니다");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.todoapp.dto;
+
+import lombok.*;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// Dashboard numbers of GET /api/todos/stats
+public class TodoStatsResponseDto {
+    private long total;             // All todos
+    private long completed;         // Completed todos
+    private long open;              // Not completed todos
+    private int days;               // Length of the recent period
+    private long createdRecently;   // Todos created in the last "days" days (including today)
+    private long completedRecently; // Todos completed in the last "days" days (including today)
+}
@@ -0,0 +1,38 @@
+package com.example.todoapp.dto;
+
+import com.example.todoapp.repository.TodoRow;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// Todo without its description ("summary" view of the list and search endpoints)
+// Filled directly from queries that leave the TEXT column out, so it is never read
+public class TodoSummaryDto {
+    private Long id;                //Todo ID
+    private String title;           //Todo title
+    private Boolean completed;      //Todo completed or Not
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private LocalDateTime updatedAt;
+
+    private String position;        //Manual order key
+
+    // convert a TodoRow projection (native query) into TodoSummaryDto
+    public static TodoSummaryDto fromRow(TodoRow row) {
+        return TodoSummaryDto.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .completed(row.getCompleted())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .position(row.getPosition())
+                .build();
+    }
+}
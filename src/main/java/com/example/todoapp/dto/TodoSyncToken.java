@@ -0,0 +1,31 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+// Point in time up to which a client has seen the user's changes
+// Sent to the client as an opaque Base64 string: "since" parameter / "syncToken" field
+public class TodoSyncToken {
+    private LocalDateTime time;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(time.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoSyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new TodoSyncToken(LocalDateTime.parse(raw));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 동기화 토큰입니다");
+        }
+    }
+}
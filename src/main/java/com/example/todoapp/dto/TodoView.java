@@ -0,0 +1,21 @@
+package com.example.todoapp.dto;
+
+import java.util.Locale;
+
+// Shape of the todos returned by the list and search endpoints
+// ?view=full (default): TodoResponseDto, ?view=summary: TodoSummaryDto (no description)
+public enum TodoView {
+    FULL,
+    SUMMARY;
+
+    public static TodoView from(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        try {
+            return TodoView.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("view는 full 또는 summary만 가능합니다");
+        }
+    }
+}
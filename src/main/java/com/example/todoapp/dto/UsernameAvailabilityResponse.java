@@ -0,0 +1,14 @@
+package com.example.todoapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+// Result of GET /api/auth/username-available
+public class UsernameAvailabilityResponse {
+    private String username;
+    private boolean available;
+}
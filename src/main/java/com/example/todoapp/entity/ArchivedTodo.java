@@ -0,0 +1,50 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Completed todo moved out of the todos table (cold tier, see TodoArchiveService)
+// Same id as in todos; moved back on toggle, so the todo keeps its identity
+// Archived todos are always completed
+@Entity
+@Table(name = "archived_todos", indexes = {
+        // Archive list: WHERE user_id = ? ORDER BY completed_at DESC, id DESC (keyset)
+        @Index(name = "idx_archived_todos_user_completed", columnList = "user_id, completed_at DESC, id DESC")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTodo {
+    // PK = id of the todo (from todos_seq)
+    @Id
+    private Long id;
+
+    // Owner (plain column: no User is ever loaded with an archived row)
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 255)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Last change in todos
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Completion time carried over from todos (archive list order)
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+
+    // When the mover took it out of todos
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
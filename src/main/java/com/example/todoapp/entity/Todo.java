@@ -10,7 +10,16 @@ import java.time.LocalDateTime;
 // JPA will manage table creation and mapping based on this entity
 // ---------------------------------------------------------------
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        // Keyset pagination: WHERE user_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+        @Index(name = "idx_todos_user_created", columnList = "user_id, created_at DESC, id DESC"),
+        // Delta sync: WHERE user_id = ? AND updated_at > ? ORDER BY updated_at
+        @Index(name = "idx_todos_user_updated", columnList = "user_id, updated_at"),
+        // Manual order: WHERE user_id = ? AND (position, id) > (?, ?) ORDER BY position, id
+        @Index(name = "idx_todos_user_position", columnList = "user_id, position, id"),
+        // Delta sync of moves: WHERE user_id = ? AND position_updated_at > ?
+        @Index(name = "idx_todos_user_position_updated", columnList = "user_id, position_updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,8 +28,10 @@ import java.time.LocalDateTime;
 public class Todo {
     // PK
     @Id
-    // Auto_increment
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: Hibernate reserves 50 ids per nextval, so inserts can be JDBC-batched
+    // (IDENTITY forces one INSERT round trip per row to read the generated key)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = 50)
     private Long id;    // unique number to do
 
     // -------Column properties--------
@@ -41,6 +52,12 @@ public class Todo {
     @Builder.Default
     private Boolean completed = false;  // 기본값 설정
 
+    // Last completion time (null if never completed): set by every path that completes a todo,
+    // kept when reopened (the stats counters take that completion back on its day)
+    // Column Type: TIMESTAMP
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
     // Creation time
     // Column Type: TIMESTAMP
     @CreationTimestamp
@@ -53,6 +70,16 @@ public class Todo {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Manual order key (fractional index, see TodoPositions): ascending = top to bottom
+    // Column Type: VARCHAR(255) COLLATE "C" (compared byte by byte, the way the keys are built)
+    @Column(columnDefinition = "varchar(255) COLLATE \"C\"")
+    private String position;
+
+    // Last move of the todo (PATCH /{id}/move): a move is not an edit, so updated_at stays as it was
+    // Column Type: TIMESTAMP (null: never moved)
+    @Column(name = "position_updated_at")
+    private LocalDateTime positionUpdatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
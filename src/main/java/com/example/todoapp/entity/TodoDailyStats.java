@@ -0,0 +1,26 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Per-user, per-day activity counters ("created/completed in the last N days")
+// One row per user and day, so a N-day window reads at most N rows through the PK
+@Entity
+@Table(name = "todo_daily_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoDailyStats {
+    @EmbeddedId
+    private TodoDailyStatsId id;
+
+    // Todos created on that day (minus ones deleted since)
+    @Column(name = "created_count", nullable = false)
+    private Long createdCount;
+
+    // Todos completed on that day (minus ones reopened or deleted since: taken back on the day they were counted)
+    @Column(name = "completed_count", nullable = false)
+    private Long completedCount;
+}
@@ -0,0 +1,22 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Composite PK of TodoDailyStats: (user_id, stat_day)
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TodoDailyStatsId implements Serializable {
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "stat_day")
+    private LocalDate day;
+}
@@ -0,0 +1,35 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Per-user todo counters
+// Kept up to date by TodoService on every create/toggle/delete (TodoStatsService),
+// so the dashboard reads one row instead of counting the user's todos
+@Entity
+@Table(name = "todo_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoStats {
+    // PK = owner (one row per user)
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Number of todos
+    @Column(name = "total_count", nullable = false)
+    private Long totalCount;
+
+    // Number of completed todos
+    @Column(name = "completed_count", nullable = false)
+    private Long completedCount;
+
+    // Last counter change or reconciliation
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.example.todoapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Record of a deleted todo, so delta sync (GET /api/todos/changes) can tell clients to drop it
+// Written in the same statement as the DELETE; purged after todo.sync.tombstone-retention
+@Entity
+@Table(name = "todo_tombstones", indexes = {
+        // Delta sync: WHERE user_id = ? AND deleted_at > ?
+        @Index(name = "idx_todo_tombstones_user_deleted", columnList = "user_id, deleted_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoTombstone {
+    // PK = id of the deleted todo (ids are never reused)
+    @Id
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    // Owner of the deleted todo
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Deletion time
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,34 @@
+package com.example.todoapp.event;
+
+import com.example.todoapp.dto.TodoResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Published by TodoService whenever a user's todos are created, updated or deleted
+// Listeners use @TransactionalEventListener so they only see committed changes
+// changed/deleted: what exactly changed, when the service knows it cheaply (null: unknown, e.g. batch toggle)
+@Getter
+@AllArgsConstructor
+public class TodoChangedEvent {
+    private Long userId;                    // Owner of the changed todos
+    private List<TodoResponseDto> changed;  // Created or modified todos
+    private List<Long> deleted;             // Ids of deleted todos
+
+    public TodoChangedEvent(Long userId) {
+        this(userId, null, null);
+    }
+
+    public static TodoChangedEvent changed(Long userId, List<TodoResponseDto> changed) {
+        return new TodoChangedEvent(userId, changed, List.of());
+    }
+
+    public static TodoChangedEvent deleted(Long userId, List<Long> deleted) {
+        return new TodoChangedEvent(userId, List.of(), deleted);
+    }
+
+    public boolean hasDetails() {
+        return changed != null && deleted != null;
+    }
+}
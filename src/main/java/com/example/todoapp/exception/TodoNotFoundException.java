@@ -0,0 +1,10 @@
+package com.example.todoapp.exception;
+
+// The todo does not exist or belongs to another user
+// Both cases answer 404 so other users' todo ids are not revealed
+public class TodoNotFoundException extends RuntimeException {
+
+    public TodoNotFoundException() {
+        super("할일을 찾을 수 없습니다");
+    }
+}
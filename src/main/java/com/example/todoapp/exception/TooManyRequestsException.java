@@ -0,0 +1,10 @@
+package com.example.todoapp.exception;
+
+// The server is temporarily saturated (e.g. password hashing queue full)
+// Answered with 429 + Retry-After so clients back off instead of piling up
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException() {
+        super("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요");
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.todoapp.metrics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+
+// Counts managed entities Hibernate loads for the current request (lazy loads included),
+// so N+1 patterns show up as a growing number per request
+// DTO projections are not entities and are not counted
+public class EntityLoadCountingIntegrator implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        sessionFactory.getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new Listener());
+    }
+
+    private static class Listener implements PostLoadEventListener {
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            RequestQueryStats.entityLoaded();
+        }
+    }
+}
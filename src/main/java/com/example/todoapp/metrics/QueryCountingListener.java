@@ -0,0 +1,21 @@
+package com.example.todoapp.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// JDBC listener (datasource-proxy): counts every statement execution for the current request
+// Hibernate, JdbcTemplate and native queries alike; a JDBC batch is one execution (one round trip)
+public class QueryCountingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats.statementExecuted();
+    }
+}
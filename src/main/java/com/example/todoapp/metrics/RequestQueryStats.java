@@ -0,0 +1,46 @@
+package com.example.todoapp.metrics;
+
+// Per-request counters of executed SQL statements (any JDBC access) and entities Hibernate materialized
+// Bound to the request thread by RequestQueryMetricsFilter; counting outside a request is a no-op
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entitiesLoaded;
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementExecuted() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entitiesLoaded++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
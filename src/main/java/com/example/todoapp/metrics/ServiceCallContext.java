@@ -0,0 +1,30 @@
+package com.example.todoapp.metrics;
+
+// Name of the TodoService / AuthService method running on the current thread ("TodoService.getTodos")
+// Set by ServiceTimingAspect so SQL captured below it can be traced back to its caller
+public final class ServiceCallContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ServiceCallContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    // Returns the enclosing method (nested service calls), to be passed back to restore()
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
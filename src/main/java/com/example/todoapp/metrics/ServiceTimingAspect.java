@@ -0,0 +1,61 @@
+package com.example.todoapp.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// Timer for every public TodoService / AuthService method
+// - todo.service.method (tags: class, method, exception = "none" or the exception class)
+// - timers are looked up once per method, so the request path only pays for two clock reads
+// - publishes the running method in ServiceCallContext (origin of captured slow queries)
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+
+    private static final String METRIC_NAME = "todo.service.method";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Method, Timer> successTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, String> callNames = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.example.todoapp.service.TodoService.*(..))"
+            + " || execution(public * com.example.todoapp.service.AuthService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String previous = ServiceCallContext.enter(callNames.computeIfAbsent(method,
+                m -> m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(method, m -> timer(m, "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(method, e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            ServiceCallContext.restore(previous);
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(METRIC_NAME)
+                .description("Execution time of service methods")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
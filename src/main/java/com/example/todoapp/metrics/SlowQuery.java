@@ -0,0 +1,16 @@
+package com.example.todoapp.metrics;
+
+import java.time.Instant;
+
+// One captured slow statement
+// - sql: statement text (batched statements: the first one)
+// - parameters: summary of the bound values (types and shortened values, batch size)
+// - origin: service method that ran it ("TodoService.searchTodos"), null outside the service layer
+public record SlowQuery(
+        long sequence,
+        Instant capturedAt,
+        long elapsedMillis,
+        String sql,
+        String parameters,
+        String origin) {
+}
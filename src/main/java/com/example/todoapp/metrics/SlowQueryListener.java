@@ -0,0 +1,91 @@
+package com.example.todoapp.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+
+// JDBC listener (datasource-proxy): captures statements slower than the threshold into SlowQueryLog
+// Fast statements cost one comparison; SQL text and parameters are only formatted for slow ones
+// Counter: todo.sql.slow
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final int MAX_VALUE_LENGTH = 40;
+    private static final int MAX_PARAMETERS = 20;
+
+    private final SlowQueryLog slowQueryLog;
+    private final long thresholdMillis;
+    private final Counter slowQueries;
+
+    public SlowQueryListener(SlowQueryLog slowQueryLog, Duration threshold, MeterRegistry meterRegistry) {
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdMillis = threshold.toMillis();
+        this.slowQueries = Counter.builder("todo.sql.slow")
+                .description("Statements slower than todo.slow-query.threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis || queryInfoList.isEmpty()) {
+            return;
+        }
+        slowQueries.increment();
+
+        QueryInfo first = queryInfoList.getFirst();
+        String sql = first.getQuery();
+        if (queryInfoList.size() > 1) {
+            sql = sql + " /* +" + (queryInfoList.size() - 1) + " more statements */";
+        }
+        slowQueryLog.add(execInfo.getElapsedTime(), truncate(sql, MAX_SQL_LENGTH),
+                summarize(execInfo, first), ServiceCallContext.current());
+    }
+
+    // "[1=42, 2='study', 3=true]" or "batch of 50, first: [...]"
+    private static String summarize(ExecutionInfo execInfo, QueryInfo query) {
+        List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+        if (parameterSets.isEmpty()) {
+            return "";
+        }
+
+        StringJoiner values = new StringJoiner(", ", "[", "]");
+        List<ParameterSetOperation> firstSet = parameterSets.getFirst();
+        for (int i = 0; i < Math.min(firstSet.size(), MAX_PARAMETERS); i++) {
+            Object[] args = firstSet.get(i).getArgs();
+            values.add(args.length > 1 ? args[0] + "=" + format(args[1]) : String.valueOf(args[0]));
+        }
+        if (firstSet.size() > MAX_PARAMETERS) {
+            values.add("... " + (firstSet.size() - MAX_PARAMETERS) + " more");
+        }
+
+        if (execInfo.isBatch() && parameterSets.size() > 1) {
+            return "batch of " + parameterSets.size() + ", first: " + values;
+        }
+        return values.toString();
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "'" + truncate(text.toString(), MAX_VALUE_LENGTH) + "'";
+        }
+        return truncate(value.toString(), MAX_VALUE_LENGTH);
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength) + "...";
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.todoapp.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Fixed-size ring buffer of the most recent slow queries
+// Lock-free: writers claim a slot with one atomic increment and overwrite the oldest entry,
+// so capturing never blocks a request thread and memory stays bounded
+@Component
+public class SlowQueryLog {
+
+    private final AtomicReferenceArray<SlowQuery> slots;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowQueryLog(@Value("${todo.slow-query.capacity:256}") int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(long elapsedMillis, String sql, String parameters, String origin) {
+        long next = sequence.getAndIncrement();
+        slots.set((int) (next % slots.length()),
+                new SlowQuery(next, Instant.now(), elapsedMillis, sql, parameters, origin));
+    }
+
+    // Newest first
+    public List<SlowQuery> snapshot() {
+        List<SlowQuery> entries = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            SlowQuery entry = slots.get(i);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparingLong(SlowQuery::sequence).reversed());
+        return entries;
+    }
+
+    // Entries captured while clearing may survive; the buffer is diagnostic, not an audit log
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.todoapp.repository;
+
+// Interface projection: one todo moved into the archive by a mover batch
+public interface ArchivedTodoId {
+    Long getId();
+    Long getUserId();
+}
@@ -0,0 +1,97 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.entity.ArchivedTodo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Cold tier of completed todos (see TodoArchiveService)
+// Moves between todos and archived_todos are single statements (data-modifying CTEs)
+@Repository
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+
+    // Archived todos are always completed
+    String ARCHIVED_DTO = "SELECT new com.example.todoapp.dto.TodoResponseDto(" +
+            "a.id, a.title, a.description, true, a.createdAt, a.updatedAt) FROM ArchivedTodo a ";
+
+    // Move one batch of todos completed before "before" (oldest ids first) into the archive
+    // - by completed_at: edits of a completed todo (title, move) don't postpone it
+    // - SKIP LOCKED: rows a request is changing right now are left for the next run
+    // - a tombstone per todo: delta sync tells open clients to drop it from the list
+    // Returns the archived todos (id, owner)
+    @Query(value = "WITH moved AS (" +
+            "DELETE FROM todos WHERE id IN (" +
+            "SELECT id FROM todos WHERE completed AND completed_at < :before " +
+            "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, user_id, title, description, created_at, updated_at, completed_at), " +
+            "archived AS (INSERT INTO archived_todos " +
+            "(id, user_id, title, description, created_at, updated_at, completed_at, archived_at) " +
+            "SELECT id, user_id, title, description, created_at, updated_at, completed_at, :now FROM moved), " +
+            "tombstones AS (INSERT INTO todo_tombstones (todo_id, user_id, deleted_at) " +
+            "SELECT id, user_id, :now FROM moved " +
+            "ON CONFLICT (todo_id) DO UPDATE SET user_id = EXCLUDED.user_id, deleted_at = EXCLUDED.deleted_at) " +
+            "SELECT id, user_id AS \"userId\" FROM moved",
+            nativeQuery = true)
+    List<ArchivedTodoId> archiveCompletedBefore(@Param("before") LocalDateTime before,
+                                                   @Param("batchSize") int batchSize,
+                                                   @Param("now") LocalDateTime now);
+
+    // Move an archived todo back into todos as open (toggle); its tombstone goes away with it
+    // position: its new manual order key (archived todos have none)
+    // completed_at is kept, like any reopened todo (the stats counters take the completion back on that day)
+    // Empty: not archived, or archived by another user
+    @Query(value = "WITH restored AS (" +
+            "DELETE FROM archived_todos WHERE id = :id AND user_id = :userId " +
+            "RETURNING id, user_id, title, description, created_at, completed_at), " +
+            "untombstoned AS (DELETE FROM todo_tombstones WHERE todo_id IN (SELECT id FROM restored)) " +
+            "INSERT INTO todos (id, user_id, title, description, completed, completed_at, created_at, updated_at, position) " +
+            "SELECT id, user_id, title, description, false, completed_at, created_at, :now, :position FROM restored" +
+            TodoRepository.TODO_ROW_RETURNING,
+            nativeQuery = true)
+    Optional<TodoRow> restoreReturning(@Param("id") Long id,
+                                       @Param("userId") Long userId,
+                                       @Param("position") String position,
+                                       @Param("now") LocalDateTime now);
+
+    // Title update of a todo archived while the update waited in the write-behind queue
+    @Modifying
+    @Query("UPDATE ArchivedTodo a SET a.title = :title WHERE a.id = :id AND a.userId = :userId")
+    int updateTitle(@Param("id") Long id, @Param("userId") Long userId, @Param("title") String title);
+
+    // The tombstone written when it was archived already covers delta sync
+    // Returns the deleted todo (for the stats counters, always completed)
+    @Query(value = "DELETE FROM archived_todos WHERE id = :id AND user_id = :userId " +
+            "RETURNING id, true AS completed, completed_at AS \"completedAt\", created_at AS \"createdAt\"",
+            nativeQuery = true)
+    Optional<TodoStatsRow> deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Archive list, most recently completed first (keyset on completedAt, id)
+    // Entities, not DTOs: the cursor needs completedAt, which the response does not carry
+    @Query("SELECT a FROM ArchivedTodo a WHERE a.userId = :userId ORDER BY a.completedAt DESC, a.id DESC")
+    List<ArchivedTodo> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT a FROM ArchivedTodo a WHERE a.userId = :userId " +
+            "AND a.completedAt <= :completedAt AND (a.completedAt < :completedAt OR a.id < :id) " +
+            "ORDER BY a.completedAt DESC, a.id DESC")
+    List<ArchivedTodo> findPageAfter(@Param("userId") Long userId,
+                                     @Param("completedAt") LocalDateTime completedAt,
+                                     @Param("id") Long id,
+                                     Limit limit);
+
+    // Export: archived todos follow the live ones (same forward-only cursor as TodoRepository.streamByUserId)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ARCHIVED_DTO + "WHERE a.userId = :userId ORDER BY a.completedAt DESC, a.id DESC")
+    Stream<TodoResponseDto> streamByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,7 @@
+package com.example.todoapp.repository;
+
+// Interface projection for TodoStatsRepository.sumDailyCounts
+public interface TodoActivityRow {
+    Long getCreated();
+    Long getCompleted();
+}
@@ -0,0 +1,18 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.dto.TodoCursor;
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.dto.TodoSummaryDto;
+
+import java.util.List;
+
+// Filtered, sorted, keyset-paginated todo list of one user (implemented in TodoFilterRepositoryImpl)
+// after: cursor of the last todo of the previous page (null: first page)
+public interface TodoFilterRepository {
+
+    List<TodoResponseDto> findFiltered(Long userId, TodoFilter filter, TodoCursor after, int limit);
+
+    // Same rows without the description column
+    List<TodoSummaryDto> findSummaryFiltered(Long userId, TodoFilter filter, TodoCursor after, int limit);
+}
@@ -0,0 +1,110 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.dto.TodoCursor;
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.dto.TodoSort;
+import com.example.todoapp.dto.TodoSummaryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Builds one SQL statement per filter: only the conditions that are set are added, always after user_id
+// - no "(:param IS NULL OR ...)" branches: PostgreSQL plans each combination on its own
+// - completed is written as a literal ("AND NOT t.completed"), so the partial indexes of
+//   schema-postgresql.sql match even with a cached generic plan
+// Indexes: status + created order -> idx_todos_user_open_created / idx_todos_user_done_created (partial, covering)
+//          no status -> idx_todos_user_created, updated order/range -> idx_todos_user_updated,
+//          manual order -> idx_todos_user_position, keyword -> idx_todos_user_search
+@RequiredArgsConstructor
+public class TodoFilterRepositoryImpl implements TodoFilterRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<TodoResponseDto> findFiltered(Long userId, TodoFilter filter, TodoCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = buildQuery(true, userId, filter, after, limit, params);
+
+        // Same constructor as the TODO_DTO constructor expression of TodoRepository
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new TodoResponseDto(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getBoolean("completed"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getString("position")));
+    }
+
+    @Override
+    public List<TodoSummaryDto> findSummaryFiltered(Long userId, TodoFilter filter, TodoCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = buildQuery(false, userId, filter, after, limit, params);
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new TodoSummaryDto(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getBoolean("completed"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getString("position")));
+    }
+
+    // withDescription: false leaves the TEXT column out (summary view)
+    private static String buildQuery(boolean withDescription, Long userId, TodoFilter filter, TodoCursor after,
+                                     int limit, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder("SELECT t.id, t.title, ");
+        if (withDescription) {
+            sql.append("t.description, ");
+        }
+        sql.append("t.completed, t.created_at, t.updated_at, t.position FROM todos t WHERE t.user_id = :userId");
+        params.addValue("userId", userId);
+
+        if (filter.getCompleted() != null) {
+            sql.append(filter.getCompleted() ? " AND t.completed" : " AND NOT t.completed");
+        }
+        if (filter.getCreatedFrom() != null) {
+            sql.append(" AND t.created_at >= :createdFrom");
+            params.addValue("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            sql.append(" AND t.created_at < :createdTo");
+            params.addValue("createdTo", filter.getCreatedTo());
+        }
+        if (filter.getUpdatedFrom() != null) {
+            sql.append(" AND t.updated_at >= :updatedFrom");
+            params.addValue("updatedFrom", filter.getUpdatedFrom());
+        }
+        if (filter.getUpdatedTo() != null) {
+            sql.append(" AND t.updated_at < :updatedTo");
+            params.addValue("updatedTo", filter.getUpdatedTo());
+        }
+
+        String query = filter.getSearchQuery();
+        if (!query.isEmpty()) {
+            sql.append(" AND t.search_vector @@ to_tsquery('simple', :query)");
+            params.addValue("query", query);
+        }
+
+        // Keyset: row comparison on (sort column, id), seeks straight to the cursor in the index
+        TodoSort sort = filter.getSort();
+        String column = sort.isManual() ? "t.position" : sort.isByUpdated() ? "t.updated_at" : "t.created_at";
+        String direction = sort.isDescending() ? " DESC" : " ASC";
+        if (after != null) {
+            sql.append(" AND (").append(column).append(", t.id) ")
+                    .append(sort.isDescending() ? "<" : ">")
+                    .append(" (:afterKey, :afterId)");
+            params.addValue("afterKey", sort.isManual() ? after.getPosition() : after.getTime());
+            params.addValue("afterId", after.getId());
+        }
+
+        sql.append(" ORDER BY ").append(column).append(direction).append(", t.id").append(direction)
+                .append(" LIMIT :limit");
+        params.addValue("limit", limit);
+        return sql.toString();
+    }
+}
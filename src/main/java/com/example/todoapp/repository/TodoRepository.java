@@ -1,31 +1,173 @@
 package com.example.todoapp.repository;
 
+import com.example.todoapp.dto.TodoResponseDto;
 import com.example.todoapp.entity.Todo;
-import com.example.todoapp.entity.User;
-import org.hibernate.boot.BootLogging_$logger;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 // Data access layer
 // JPA provides standard CRUD operations
+// The filtered list (GET /api/todos) is built in TodoFilterRepositoryImpl
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, Long>{
-    // Find todos by completion status
-    List<Todo> findByCompletedOrderByCreatedAtDesc(Boolean completed);
-    // Find todos containing a specific keyword
-    List<Todo> findByCompletedContaining(String keyword);
-    // Search for condition including completion, title keyword
-    List<Todo> findByCompletedAndTitleContaining(Boolean completed, String keyword);
-    // Retrieve todos created after specific time
-    List<Todo> findByCreatedAtAfter(LocalDateTime date);
-    List<Todo> findByUserOrderByCreatedAtDesc(User user);
-    // Return the total count of todos filtered by completion
-    long countByCompleted(Boolean completed);
-    // Search for keyword in title or description
-    @Query("SELECT t FROM Todo t WHERE t.title LIKE %:keyword% OR t.description LIKE %:keyword%")
-    List<Todo> searchByKeyword(@Param("keyword") String keyword);
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoFilterRepository {
+    // RETURNING clause mapped onto TodoRow (quoted aliases keep the camelCase names)
+    String TODO_ROW_RETURNING = " RETURNING id, title, description, completed, completed_at AS \"completedAt\", " +
+            "created_at AS \"createdAt\", updated_at AS \"updatedAt\", position";
+
+    // ---- Read-only projections ----
+    // Constructor expressions build the response DTOs straight from the selected columns:
+    // no managed entities, no dirty-checking snapshots, no lazy User proxy
+    String TODO_DTO = "SELECT new com.example.todoapp.dto.TodoResponseDto(" +
+            "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.position) FROM Todo t ";
+
+    // Find a todo only if it belongs to the user
+    @Query(TODO_DTO + "WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TodoResponseDto> findDtoByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Delta sync: todos created, modified or moved after "since", oldest change first
+    // (served by idx_todos_user_updated and idx_todos_user_position_updated)
+    @Query(TODO_DTO + "WHERE t.user.id = :userId AND (t.updatedAt > :since OR t.positionUpdatedAt > :since) " +
+            "ORDER BY t.updatedAt, t.id")
+    List<TodoResponseDto> findChangedSince(@Param("userId") Long userId,
+                                           @Param("since") LocalDateTime since,
+                                           Limit limit);
+
+    // Export: all todos of the user as a forward-only cursor
+    // fetch size: PostgreSQL sends 500 rows at a time instead of the whole result set
+    // DTO rows are not managed, so the persistence context stays empty however many rows are read
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TODO_DTO + "WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    Stream<TodoResponseDto> streamByUserId(@Param("userId") Long userId);
+
+    // Full-text search in title or description of the user's todos
+    // query: to_tsquery syntax (e.g. "study:* & java:*"), served by idx_todos_user_search
+    // Ranked by relevance (title matches first), then newest first
+    String SEARCH_WHERE = "FROM todos t " +
+            "WHERE t.user_id = :userId " +
+            "AND t.search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(t.search_vector, to_tsquery('simple', :query)) DESC, t.created_at DESC, t.id DESC " +
+            "LIMIT :limit OFFSET :offset";
+
+    @Query(value = "SELECT t.id, t.title, t.description, t.completed, t.completed_at AS \"completedAt\", " +
+            "t.created_at AS \"createdAt\", t.updated_at AS \"updatedAt\", t.position " + SEARCH_WHERE,
+            nativeQuery = true)
+    List<TodoRow> searchByUser(@Param("userId") Long userId,
+                               @Param("query") String query,
+                               @Param("limit") int limit,
+                               @Param("offset") int offset);
+
+    // Summary view: description is not read at all
+    @Query(value = "SELECT t.id, t.title, NULL AS description, t.completed, t.completed_at AS \"completedAt\", " +
+            "t.created_at AS \"createdAt\", t.updated_at AS \"updatedAt\", t.position " + SEARCH_WHERE,
+            nativeQuery = true)
+    List<TodoRow> searchSummaryByUser(@Param("userId") Long userId,
+                                      @Param("query") String query,
+                                      @Param("limit") int limit,
+                                      @Param("offset") int offset);
+
+    // Set-based batch operations: one statement for all ids, always scoped to the owner
+    // Toggles set completed_at when they complete a todo and keep it when they reopen one
+    // (the right-hand sides of SET read the row before the update): the stats counters
+    // take a reopen back on the day of the completion it reverses
+    // RETURNING: new state of every affected row (for the stats counters)
+    String STATS_ROW = "id, completed, completed_at AS \"completedAt\", created_at AS \"createdAt\"";
+
+    @Query(value = "UPDATE todos SET completed = NOT completed, " +
+            "completed_at = CASE WHEN completed THEN completed_at ELSE CAST(:now AS timestamp) END, updated_at = :now " +
+            "WHERE user_id = :userId AND id IN (:ids) RETURNING " + STATS_ROW,
+            nativeQuery = true)
+    List<TodoStatsRow> toggleAllByUserIdAndIdIn(@Param("userId") Long userId,
+                                                @Param("ids") Collection<Long> ids,
+                                                @Param("now") LocalDateTime now);
+
+    // Write-behind: the todos its batched UPDATE toggled (a JDBC batch returns no rows)
+    @Query(value = "SELECT " + STATS_ROW + " FROM todos WHERE id IN (:ids)", nativeQuery = true)
+    List<TodoStatsRow> findStatsRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Deletes also leave a tombstone per todo (delta sync), in the same statement
+    @Query(value = "WITH deleted AS (" +
+            "DELETE FROM todos WHERE user_id = :userId AND id IN (:ids) RETURNING id, completed, completed_at, created_at), " +
+            "tombstones AS (INSERT INTO todo_tombstones (todo_id, user_id, deleted_at) " +
+            "SELECT id, :userId, :now FROM deleted) " +
+            "SELECT " + STATS_ROW + " FROM deleted",
+            nativeQuery = true)
+    List<TodoStatsRow> deleteAllByUserIdAndIdIn(@Param("userId") Long userId,
+                                                @Param("ids") Collection<Long> ids,
+                                                @Param("now") LocalDateTime now);
+
+    // Owner-checked single-row mutations: the ownership check and the write are one statement
+    // Empty result / 0 rows: the todo does not exist or belongs to another user
+    @Query(value = "UPDATE todos SET completed = NOT completed, " +
+            "completed_at = CASE WHEN completed THEN completed_at ELSE CAST(:now AS timestamp) END, updated_at = :now " +
+            "WHERE id = :id AND user_id = :userId" + TODO_ROW_RETURNING,
+            nativeQuery = true)
+    Optional<TodoRow> toggleCompletedReturning(@Param("id") Long id,
+                                               @Param("userId") Long userId,
+                                               @Param("now") LocalDateTime now);
+
+    @Query(value = "UPDATE todos SET title = :title, updated_at = :now " +
+            "WHERE id = :id AND user_id = :userId" + TODO_ROW_RETURNING,
+            nativeQuery = true)
+    Optional<TodoRow> updateTitleReturning(@Param("id") Long id,
+                                           @Param("userId") Long userId,
+                                           @Param("title") String title,
+                                           @Param("now") LocalDateTime now);
+
+    // ---- Manual order (fractional index keys, see TodoPositions), served by idx_todos_user_position ----
+    // Key of the first todo in the manual order (new todos go above it)
+    @Query(value = "SELECT MIN(position) FROM todos WHERE user_id = :userId", nativeQuery = true)
+    Optional<String> findFirstPosition(@Param("userId") Long userId);
+
+    // Key of the todo a moved todo goes below (empty: no such todo of the user)
+    @Query(value = "SELECT position FROM todos WHERE id = :id AND user_id = :userId", nativeQuery = true)
+    Optional<String> findPosition(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Neighbours of the gap a todo is moved into, not counting the moved todo itself
+    // after = null: the top of the list
+    @Query(value = "SELECT MIN(position) FROM todos WHERE user_id = :userId AND id <> :excludeId",
+            nativeQuery = true)
+    Optional<String> findFirstPositionExcept(@Param("userId") Long userId, @Param("excludeId") Long excludeId);
+
+    @Query(value = "SELECT MIN(position) FROM todos " +
+            "WHERE user_id = :userId AND id <> :excludeId AND position > :after",
+            nativeQuery = true)
+    Optional<String> findNextPositionExcept(@Param("userId") Long userId,
+                                            @Param("after") String after,
+                                            @Param("excludeId") Long excludeId);
+
+    // Locks the todo being moved: a respread (TodoPositionService) either waits for the move
+    // or has committed before the move reads its neighbours
+    @Query(value = "SELECT id FROM todos WHERE id = :id AND user_id = :userId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockForMove(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Only the moved row is written; position_updated_at (not updated_at) lets delta sync pick up the new key
+    @Query(value = "UPDATE todos SET position = :position, position_updated_at = :now " +
+            "WHERE id = :id AND user_id = :userId" + TODO_ROW_RETURNING,
+            nativeQuery = true)
+    Optional<TodoRow> moveReturning(@Param("id") Long id,
+                                    @Param("userId") Long userId,
+                                    @Param("position") String position,
+                                    @Param("now") LocalDateTime now);
+
+    // Returns the deleted todo (for the stats counters) and leaves a tombstone (delta sync)
+    @Query(value = "WITH deleted AS (" +
+            "DELETE FROM todos WHERE id = :id AND user_id = :userId RETURNING id, completed, completed_at, created_at), " +
+            "tombstones AS (INSERT INTO todo_tombstones (todo_id, user_id, deleted_at) " +
+            "SELECT id, :userId, :now FROM deleted) " +
+            "SELECT " + STATS_ROW + " FROM deleted",
+            nativeQuery = true)
+    Optional<TodoStatsRow> deleteByIdAndUserId(@Param("id") Long id,
+                                               @Param("userId") Long userId,
+                                               @Param("now") LocalDateTime now);
 }
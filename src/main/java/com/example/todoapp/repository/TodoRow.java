@@ -0,0 +1,17 @@
+package com.example.todoapp.repository;
+
+import java.time.LocalDateTime;
+
+// Interface projection for native queries that return todo columns (e.g. UPDATE ... RETURNING)
+// Column aliases must match the getter names (see TodoRepository.TODO_ROW_RETURNING)
+// A toggled todo is also what the stats counters need (TodoStatsRow)
+public interface TodoRow extends TodoStatsRow {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    Boolean getCompleted();
+    LocalDateTime getCompletedAt();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    String getPosition();
+}
@@ -0,0 +1,105 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.TodoStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// Counter updates are single atomic statements (no read-modify-write in Java)
+@Repository
+public interface TodoStatsRepository extends JpaRepository<TodoStats, Long> {
+
+    // Apply deltas to the user's counters
+    // Only updates an existing row (0: no counters yet, then initializeWithCounts)
+    @Modifying
+    @Query(value = "UPDATE todo_stats SET total_count = total_count + :total, " +
+            "completed_count = completed_count + :completed, updated_at = :now " +
+            "WHERE user_id = :userId",
+            nativeQuery = true)
+    int addCounts(@Param("userId") Long userId,
+                  @Param("total") long total,
+                  @Param("completed") long completed,
+                  @Param("now") LocalDateTime now);
+
+    // Apply deltas to the user's counters of one day (row created on first use)
+    @Modifying
+    @Query(value = "INSERT INTO todo_daily_stats (user_id, stat_day, created_count, completed_count) " +
+            "VALUES (:userId, :day, :created, :completed) " +
+            "ON CONFLICT (user_id, stat_day) DO UPDATE SET " +
+            "created_count = todo_daily_stats.created_count + EXCLUDED.created_count, " +
+            "completed_count = todo_daily_stats.completed_count + EXCLUDED.completed_count",
+            nativeQuery = true)
+    int addDailyCounts(@Param("userId") Long userId,
+                       @Param("day") LocalDate day,
+                       @Param("created") long created,
+                       @Param("completed") long completed);
+
+    // Sum of the daily counters since the given day (at most N PK rows)
+    @Query("SELECT COALESCE(SUM(d.createdCount), 0) AS created, COALESCE(SUM(d.completedCount), 0) AS completed " +
+            "FROM TodoDailyStats d WHERE d.id.userId = :userId AND d.id.day >= :since")
+    TodoActivityRow sumDailyCounts(@Param("userId") Long userId, @Param("since") LocalDate since);
+
+    // Create the user's counters from the todos and archived_todos tables (once per user)
+    // Archived todos still count (always as completed)
+    @Modifying
+    @Query(value = "INSERT INTO todo_stats (user_id, total_count, completed_count, updated_at) " +
+            "SELECT :userId, t.total + a.total, t.completed + a.total, :now " +
+            "FROM (SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE completed) AS completed " +
+            "FROM todos WHERE user_id = :userId) t, " +
+            "(SELECT COUNT(*) AS total FROM archived_todos WHERE user_id = :userId) a " +
+            "ON CONFLICT (user_id) DO NOTHING",
+            nativeQuery = true)
+    int initialize(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Counters of a user who has none yet, on the first change (addCounts found no row)
+    // - inserted: counted like initialize, in the caller's transaction, so its own change is included
+    // - a row another transaction created meanwhile (initialize or this): the insert waits for it to commit,
+    //   then only the deltas are added (its counts could not see this transaction's change)
+    @Modifying
+    @Query(value = "INSERT INTO todo_stats (user_id, total_count, completed_count, updated_at) " +
+            "SELECT :userId, t.total + a.total, t.completed + a.total, :now " +
+            "FROM (SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE completed) AS completed " +
+            "FROM todos WHERE user_id = :userId) t, " +
+            "(SELECT COUNT(*) AS total FROM archived_todos WHERE user_id = :userId) a " +
+            "ON CONFLICT (user_id) DO UPDATE SET " +
+            "total_count = todo_stats.total_count + :total, " +
+            "completed_count = todo_stats.completed_count + :completed, updated_at = :now",
+            nativeQuery = true)
+    int initializeWithCounts(@Param("userId") Long userId,
+                             @Param("total") long total,
+                             @Param("completed") long completed,
+                             @Param("now") LocalDateTime now);
+
+    // Users with counters (reconciliation)
+    @Query("SELECT s.userId FROM TodoStats s ORDER BY s.userId")
+    List<Long> findAllUserIds();
+
+    // Lock the user's counters: changes that already counted are committed before recount reads the tables,
+    // later ones wait and add their deltas on top
+    @Query(value = "SELECT user_id FROM todo_stats WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockByUserId(@Param("userId") Long userId);
+
+    // Recount the user's counters from the todos and archived_todos tables (after lockByUserId)
+    @Modifying
+    @Query(value = "UPDATE todo_stats SET " +
+            "total_count = (SELECT COUNT(*) FROM todos WHERE user_id = :userId) " +
+            "+ (SELECT COUNT(*) FROM archived_todos WHERE user_id = :userId), " +
+            "completed_count = (SELECT COUNT(*) FROM todos WHERE user_id = :userId AND completed) " +
+            "+ (SELECT COUNT(*) FROM archived_todos WHERE user_id = :userId), " +
+            "updated_at = :now " +
+            "WHERE user_id = :userId",
+            nativeQuery = true)
+    int recount(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Daily counters are only read for the last MAX_DAYS days
+    @Modifying
+    @Query("DELETE FROM TodoDailyStats d WHERE d.id.day < :before")
+    int deleteDailyCountsBefore(@Param("before") LocalDate before);
+}
@@ -0,0 +1,12 @@
+package com.example.todoapp.repository;
+
+import java.time.LocalDateTime;
+
+// Interface projection: a toggled or deleted todo as the stats counters see it (TodoStatsService)
+// Column aliases must match the getter names
+public interface TodoStatsRow {
+    Long getId();
+    Boolean getCompleted();             // State after a toggle, or of the deleted todo
+    LocalDateTime getCompletedAt();     // Last completion (kept when reopened): the day it is counted on
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,28 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.entity.TodoTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+
+    // Ids of the user's todos deleted after "since" (served by idx_todo_tombstones_user_deleted)
+    @Query("SELECT t.todoId FROM TodoTombstone t " +
+            "WHERE t.userId = :userId AND t.deletedAt > :since ORDER BY t.deletedAt")
+    List<Long> findDeletedIdsSince(@Param("userId") Long userId,
+                                   @Param("since") LocalDateTime since,
+                                   Limit limit);
+
+    // Retention: clients that last synced before this must reload everything anyway
+    @Modifying
+    @Query("DELETE FROM TodoTombstone t WHERE t.deletedAt < :before")
+    int deleteAllDeletedBefore(@Param("before") LocalDateTime before);
+}
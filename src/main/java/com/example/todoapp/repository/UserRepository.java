@@ -1,10 +1,18 @@
 package com.example.todoapp.repository;
 
 import com.example.todoapp.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -14,4 +22,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Every username, streamed in chunks (warms the username Bloom filter at startup)
+    // Must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamAllUsernames();
+
+    // Manual order respreads (delta sync of the keys, TodoSyncService)
+    @Query("SELECT u.positionsRespreadAt FROM User u WHERE u.id = :id")
+    Optional<LocalDateTime> findPositionsRespreadAt(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "UPDATE users SET positions_respread_at = :now WHERE id = :id", nativeQuery = true)
+    int markPositionsRespread(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,19 @@
+package com.example.todoapp.security;
+
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Id of the authenticated user (the Long principal set by TokenAuthenticationFilter)
+// A principal of any other type fails the request (ClassCastException) instead of resolving to null,
+// which would otherwise run the user-scoped queries with "user_id = null"
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@AuthenticationPrincipal(errorOnInvalidType = true)
+public @interface CurrentUserId {
+}
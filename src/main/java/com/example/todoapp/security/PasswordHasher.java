@@ -0,0 +1,131 @@
+package com.example.todoapp.security;
+
+import com.example.todoapp.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the (deliberately slow) PasswordEncoder on a small dedicated pool
+// - threads: one per core by default, so a login storm uses at most those cores
+//   and todo requests keep the rest of the CPU and all request threads
+// - queue: bounded; when full, or when a hash waits longer than the timeout, the caller
+//   gets TooManyRequestsException (429) right away instead of queueing without limit
+// Metrics: todo.auth.hashing (timer, tag operation), todo.auth.hashing.queue, .active (gauges),
+//          todo.auth.hashing.rejected (counter)
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${todo.auth.hashing.threads:0}") int threads,
+                          @Value("${todo.auth.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${todo.auth.hashing.timeout:3s}") Duration timeout) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("todo.auth.hashing")
+                .description("Password hashing time on the hashing pool")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("todo.auth.hashing")
+                .description("Password hashing time on the hashing pool")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("todo.auth.hashing.rejected")
+                .description("Hash requests refused because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("todo.auth.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Hash requests waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("todo.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hash requests running")
+                .register(meterRegistry);
+
+        log.info("비밀번호 해시 풀: 스레드 {}개, 대기열 {}", poolSize, queueCapacity);
+    }
+
+    public String encode(String rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException();
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued (or running) after the timeout: give up, free the slot if not started
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 처리 중 인터럽트되었습니다", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
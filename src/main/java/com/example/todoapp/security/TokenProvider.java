@@ -0,0 +1,85 @@
+package com.example.todoapp.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+// Stateless access tokens: base64url("userId:expiresAtEpochSecond") + "." + base64url(HMAC-SHA256)
+// Verifying a token needs only the secret, no database access
+@Component
+public class TokenProvider {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    public TokenProvider(@Value("${todo.auth.token-secret}") String secret,
+                         @Value("${todo.auth.token-ttl:12h}") Duration ttl) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < 32) {
+            throw new IllegalStateException("todo.auth.token-secret must be at least 32 bytes");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttl = ttl;
+    }
+
+    public String issue(Long userId) {
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        String payload = ENCODER.encodeToString((userId + ":" + expiresAt).getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    // User id of a valid, unexpired token
+    public Optional<Long> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            // Constant-time comparison: no timing hints about the expected signature
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return Optional.empty();
+            }
+
+            String claims = new String(DECODER.decode(payload), StandardCharsets.UTF_8);
+            int colon = claims.indexOf(':');
+            if (colon <= 0) {
+                return Optional.empty();
+            }
+            long expiresAt = Long.parseLong(claims.substring(colon + 1));
+            if (Instant.now().getEpochSecond() >= expiresAt) {
+                return Optional.empty();
+            }
+            return Optional.of(Long.valueOf(claims.substring(0, colon)));
+        } catch (IllegalArgumentException e) {
+            // Malformed Base64 or numbers (NumberFormatException is an IllegalArgumentException)
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            // Mac is not thread-safe; a fresh instance per call is cheap next to a request
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC is not available", e);
+        }
+    }
+}
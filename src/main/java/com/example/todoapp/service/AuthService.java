@@ -1,47 +1,58 @@
 package com.example.todoapp.service;
 
 
+import com.example.todoapp.cache.UsernameFilter;
 import com.example.todoapp.dto.LoginRequest;
 import com.example.todoapp.dto.LoginResponse;
 import com.example.todoapp.dto.SignupRequest;
 import com.example.todoapp.dto.UserResponse;
 import com.example.todoapp.entity.User;
 import com.example.todoapp.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.example.todoapp.security.PasswordHasher;
+import com.example.todoapp.security.TokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthService {
 
+    private static final String USERNAME_TAKEN = "이미 사용 중인 아이디입니다";
+    private static final String EMAIL_TAKEN = "이미 사용 중인 이메일입니다";
+    // SignupRequest.username 규칙과 동일
+    private static final Pattern USERNAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_]{4,15}$");
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;  // 비밀번호 암호화
+    private final UsernameFilter usernameFilter;     // 사용 중인 아이디 (Bloom filter)
+    private final PasswordHasher passwordHasher;    // 비밀번호 암호화 (전용 스레드 풀, 포화 시 429)
+    private final TokenProvider tokenProvider;      // 액세스 토큰 발급
 
     /**
      * 회원가입
+     * - 중복 확인 없이 INSERT 한 번: 아이디/이메일 중복은 DB 유니크 제약이 판정 (동시 가입에도 안전)
+     * - 아이디 필터가 "사용 중일 수 있음"이라고 할 때만 먼저 확인 (중복 아이디에 해시 계산을 낭비하지 않도록)
+     * 트랜잭션 없음: 해시 계산(수백 ms) 동안 DB 커넥션을 잡지 않도록 각 쿼리가 자체 트랜잭션으로 실행
      */
-    @Transactional
     public UserResponse signup(SignupRequest request) {
         log.info("회원가입 시도: {}", request.getUsername());
 
-        // 1. 아이디 중복 체크
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new IllegalArgumentException("이미 사용 중인 아이디입니다");
+        // 1. 이미 있는 아이디일 수 있을 때만 조회
+        if (usernameFilter.mightContain(request.getUsername())
+                && userRepository.existsByUsername(request.getUsername())) {
+            throw new IllegalArgumentException(USERNAME_TAKEN);
         }
 
-        // 2. 이메일 중복 체크
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("이미 사용 중인 이메일입니다");
-        }
+        // 2. 비밀번호 암호화
+        String encodedPassword = passwordHasher.encode(request.getPassword());
 
-        // 3. 비밀번호 암호화
-        String encodedPassword = passwordEncoder.encode(request.getPassword());
-
-        // 4. User 엔티티 생성
+        // 3. User 엔티티 생성
         User user = User.builder()
                 .username(request.getUsername())
                 .password(encodedPassword)  // 암호화된 비밀번호 저장
@@ -49,19 +60,51 @@ public class AuthService {
                 .nickname(request.getNickname())
                 .build();
 
-        // 5. 저장
-        User savedUser = userRepository.save(user);
+        // 4. 저장 (INSERT 한 번, 중복이면 유니크 제약 위반)
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateSignup(e);
+        }
+        usernameFilter.add(savedUser.getUsername());
 
         log.info("회원가입 성공: {}", savedUser.getUsername());
 
-        // 6. DTO로 변환해서 반환
+        // 5. DTO로 변환해서 반환
         return UserResponse.fromEntity(savedUser);
     }
 
+    /**
+     * 아이디 사용 가능 여부 (가입 폼 입력 중 확인용)
+     * 필터에 없는 아이디는 DB 조회 없이 사용 가능으로 응답
+     */
+    public boolean isUsernameAvailable(String username) {
+        if (username == null || !USERNAME_PATTERN.matcher(username).matches()) {
+            throw new IllegalArgumentException("4~15자 영문, 숫자, 언더스코어 아이디를 입력해주세요");
+        }
+        return !usernameFilter.mightContain(username) || !userRepository.existsByUsername(username);
+    }
+
+    // 유니크 제약 위반 -> 기존 중복 메시지 (제약 이름, 없으면 PostgreSQL 상세 메시지의 컬럼으로 판정)
+    private RuntimeException duplicateSignup(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+
+        if (User.UK_USERNAME.equalsIgnoreCase(constraint) || detail.contains("(username)")) {
+            return new IllegalArgumentException(USERNAME_TAKEN);
+        }
+        if (User.UK_EMAIL.equalsIgnoreCase(constraint) || detail.contains("(email)")) {
+            return new IllegalArgumentException(EMAIL_TAKEN);
+        }
+        return e;
+    }
+
     /**
      * 로그인
+     * 트랜잭션 없음: 사용자 조회 후 커넥션을 돌려주고 나서 비밀번호 확인
      */
-    @Transactional(readOnly = true)
     public LoginResponse login(LoginRequest request) {
         log.info("로그인 시도: {}", request.getUsername());
 
@@ -70,15 +113,18 @@ public class AuthService {
                 .orElseThrow(() -> new IllegalArgumentException("아이디 또는 비밀번호가 일치하지 않습니다"));
 
         // 2. 비밀번호 확인
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
             throw new IllegalArgumentException("아이디 또는 비밀번호가 일치하지 않습니다");
         }
 
         log.info("로그인 성공: {}", user.getUsername());
 
-        // 3. 응답 생성
+        // 3. 토큰 발급 (사용자 ID + 만료시각, HMAC 서명: 이후 요청은 DB 조회 없이 검증)
+        String token = tokenProvider.issue(user.getId());
+
+        // 4. 응답 생성
         UserResponse userResponse = UserResponse.fromEntity(user);
-        return LoginResponse.of(userResponse);
+        return LoginResponse.of(token, userResponse);
     }
 
     /**
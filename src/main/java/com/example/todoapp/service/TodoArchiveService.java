@@ -0,0 +1,124 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoCursor;
+import com.example.todoapp.dto.TodoPageResponse;
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.entity.ArchivedTodo;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.ArchivedTodoId;
+import com.example.todoapp.repository.ArchivedTodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class TodoArchiveService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public TodoArchiveService(ArchivedTodoRepository archivedTodoRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${todo.archive.after:30d}") Duration archiveAfter,
+                              @Value("${todo.archive.batch-size:1000}") int batchSize,
+                              @Value("${todo.archive.max-batches:100}") int maxBatches) {
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * 보관된 할일 목록 조회 (본인 할일만, 최근 완료순, 커서 기반 페이지네이션)
+     * - after: 이전 페이지의 nextCursor (없으면 첫 페이지)
+     * - limit: 페이지 크기 (기본 20, 최대 100)
+     */
+    @Transactional(readOnly = true)
+    public TodoPageResponse<TodoResponseDto> getArchivedTodos(Long userId, String after, Integer limit) {
+        log.info("사용자 {}의 보관된 할일 조회 (after: {}, limit: {})", userId, after, limit);
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다");
+        }
+        pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<ArchivedTodo> rows;
+        if (after == null || after.isBlank()) {
+            rows = archivedTodoRepository.findFirstPage(userId, fetchLimit);
+        } else {
+            // 커서의 시각은 완료 시각 (completedAt)
+            TodoCursor cursor = TodoCursor.decode(after);
+            if (cursor.getTime() == null) {
+                throw new IllegalArgumentException("잘못된 커서입니다");
+            }
+            rows = archivedTodoRepository.findPageAfter(userId, cursor.getTime(), cursor.getId(), fetchLimit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ArchivedTodo> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            ArchivedTodo last = page.get(page.size() - 1);
+            nextCursor = new TodoCursor(last.getCompletedAt(), null, last.getId()).encode();
+        }
+        return TodoPageResponse.of(page.stream().map(TodoResponseDto::fromArchived).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * 완료된 지 todo.archive.after가 지난 할일을 보관 테이블로 이동
+     * - batch-size건씩 각자의 트랜잭션으로 (긴 트랜잭션/잠금 없이), 한 번에 최대 max-batches 배치
+     * - 이동된 사용자마다 삭제 TodoChangedEvent: 목록 캐시/ETag 갱신, 할일 조각 캐시 제거, 열린 탭에서 목록 제거
+     * 통계 카운터는 그대로 (보관된 할일도 완료된 할일로 계속 집계)
+     */
+    @Scheduled(cron = "${todo.archive.cron:0 */10 * * * *}")
+    public void archiveCompleted() {
+        LocalDateTime before = LocalDateTime.now().minus(archiveAfter);
+        long total = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            long moved = transaction.execute(status -> {
+                List<ArchivedTodoId> archived =
+                        archivedTodoRepository.archiveCompletedBefore(before, batchSize, LocalDateTime.now());
+                Map<Long, List<Long>> idsByUser = archived.stream().collect(Collectors.groupingBy(
+                        ArchivedTodoId::getUserId, Collectors.mapping(ArchivedTodoId::getId, Collectors.toList())));
+                idsByUser.forEach((userId, ids) -> eventPublisher.publishEvent(TodoChangedEvent.deleted(userId, ids)));
+                return (long) archived.size();
+            });
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("완료된 할일 보관 완료: {}건", total);
+        }
+    }
+}
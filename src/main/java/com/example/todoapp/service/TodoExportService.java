@@ -0,0 +1,133 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoFileFormat;
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.repository.ArchivedTodoRepository;
+import com.example.todoapp.repository.TodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class TodoExportService {
+
+    // Rows between two flushes: the client gets data while the cursor is still being read
+    private static final int FLUSH_EVERY = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter CSV_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String CSV_HEADER = "id,title,description,completed,createdAt,updatedAt\n";
+
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final TodoWriteBehindService todoWriteBehindService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TodoExportService(TodoRepository todoRepository,
+                             ArchivedTodoRepository archivedTodoRepository,
+                             TodoWriteBehindService todoWriteBehindService,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.todoWriteBehindService = todoWriteBehindService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 할일 내보내기 (본인 할일만, 최신순, 보관된 할일은 그 뒤에)
+     * DB 커서에서 한 행씩 읽어 바로 out에 기록 - 할일 개수와 관계없이 메모리 사용량 일정
+     * - 쓰기 지연 모드의 대기 중인 변경을 먼저 기록 (읽기 전용 트랜잭션에서는 기록할 수 없어 트랜잭션 전에)
+     * - 읽기는 읽기 전용 트랜잭션 안에서 (PostgreSQL은 트랜잭션 안에서만 fetch size 단위로 커서를 읽음)
+     */
+    public long exportTodos(Long userId, TodoFileFormat format, OutputStream out) throws IOException {
+        log.info("사용자 {}의 할일 내보내기 ({})", userId, format);
+        todoWriteBehindService.flush(userId);
+
+        long count;
+        try {
+            count = readOnlyTransaction.execute(status -> {
+                try {
+                    return writeTodos(userId, format, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("사용자 {}의 할일 내보내기 완료: {}건", userId, count);
+        return count;
+    }
+
+    private long writeTodos(Long userId, TodoFileFormat format, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        long count = 0;
+
+        // Archived todos after the live ones (the export is the user's whole data, e.g. for /import)
+        try (Stream<TodoResponseDto> todos = Stream.concat(
+                todoRepository.streamByUserId(userId), archivedTodoRepository.streamByUserId(userId))) {
+            if (format == TodoFileFormat.CSV) {
+                buffered.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+            }
+
+            Iterator<TodoResponseDto> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                TodoResponseDto todo = iterator.next();
+                if (format == TodoFileFormat.CSV) {
+                    buffered.write(toCsvLine(todo).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    buffered.write(objectMapper.writeValueAsBytes(todo));
+                    buffered.write('\n');
+                }
+
+                if (++count % FLUSH_EVERY == 0) {
+                    buffered.flush();
+                }
+            }
+        }
+        buffered.flush();
+        return count;
+    }
+
+    private static String toCsvLine(TodoResponseDto todo) {
+        return todo.getId() + "," +
+                csvField(todo.getTitle()) + "," +
+                csvField(todo.getDescription()) + "," +
+                todo.getCompleted() + "," +
+                csvDate(todo.getCreatedAt()) + "," +
+                csvDate(todo.getUpdatedAt()) + "\n";
+    }
+
+    // RFC 4180: quote fields containing a comma, quote or line break; double the quotes
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String csvDate(LocalDateTime value) {
+        return value == null ? "" : CSV_DATE.format(value);
+    }
+}
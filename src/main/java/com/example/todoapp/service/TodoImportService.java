@@ -0,0 +1,323 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoFileFormat;
+import com.example.todoapp.dto.TodoImportErrorDto;
+import com.example.todoapp.dto.TodoImportResponseDto;
+import com.example.todoapp.dto.TodoRequestDto;
+import com.example.todoapp.dto.TodoResponseDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoImportService {
+
+    // Todos per transaction (one TodoService.createTodos call = batched INSERTs + commit)
+    private static final int CHUNK_SIZE = 500;
+    // Longer lines are rejected without being kept in memory
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final TodoService todoService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * 할일 가져오기 (NDJSON / CSV)
+     * - 요청 본문을 한 줄씩 읽으며 검증 (TodoRequestDto의 @NotBlank/@Size 규칙)
+     * - CHUNK_SIZE개마다 한 트랜잭션으로 저장 후 커밋 - 메모리에는 한 청크만 유지
+     * - 직접 정한 순서에서 파일 순서 유지: 첫 청크는 맨 위, 다음 청크는 앞 청크의 마지막 할일 바로 아래
+     * - 본문을 읽는 속도가 저장 속도에 맞춰지므로 클라이언트가 자연스럽게 대기 (backpressure)
+     * - 실패한 줄은 건너뛰고 줄 번호와 사유를 보고
+     */
+    public TodoImportResponseDto importTodos(Long userId, TodoFileFormat format, InputStream in) throws IOException {
+        log.info("사용자 {}의 할일 가져오기 ({})", userId, format);
+
+        ImportReport report = new ImportReport();
+        List<TodoRequestDto> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Long> chunkLines = new ArrayList<>(CHUNK_SIZE);
+
+        BoundedLineReader reader = new BoundedLineReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), MAX_LINE_LENGTH);
+        Map<String, Integer> csvColumns = format == TodoFileFormat.CSV ? readCsvHeader(reader) : null;
+
+        String line;
+        while ((line = reader.next()) != null) {
+            long lineNumber = reader.getLineNumber();
+            if (reader.isTooLong()) {
+                report.fail(lineNumber, "한 줄은 " + MAX_LINE_LENGTH + "자를 초과할 수 없습니다");
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            TodoRequestDto requestDto;
+            try {
+                requestDto = csvColumns != null ? parseCsv(reader, line, csvColumns) : parseNdjson(line);
+            } catch (JacksonException e) {
+                report.fail(lineNumber, "형식이 올바르지 않습니다");
+                continue;
+            } catch (IllegalArgumentException e) {
+                report.fail(lineNumber, e.getMessage());
+                continue;
+            }
+
+            Set<ConstraintViolation<TodoRequestDto>> violations = validator.validate(requestDto);
+            if (!violations.isEmpty()) {
+                report.fail(lineNumber, violations.iterator().next().getMessage());
+                continue;
+            }
+
+            chunk.add(requestDto);
+            chunkLines.add(lineNumber);
+            if (chunk.size() == CHUNK_SIZE) {
+                saveChunk(userId, chunk, chunkLines, report);
+            }
+        }
+        saveChunk(userId, chunk, chunkLines, report);
+
+        log.info("사용자 {}의 할일 가져오기 완료: 성공 {}건, 실패 {}건", userId, report.imported, report.failed);
+        return report.toResponse();
+    }
+
+    private void saveChunk(Long userId, List<TodoRequestDto> chunk, List<Long> chunkLines, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<TodoResponseDto> created = todoService.createTodos(userId, chunk, report.lastId).getTodos();
+            report.imported += chunk.size();
+            report.lastId = created.get(created.size() - 1).getId();
+        } catch (RuntimeException e) {
+            // 이 청크만 롤백됨 - 이미 커밋된 청크는 유지
+            log.warn("사용자 {}의 할일 가져오기 청크 저장 실패: {}", userId, e.getMessage());
+            for (Long lineNumber : chunkLines) {
+                report.fail(lineNumber, "저장에 실패했습니다");
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private TodoRequestDto parseNdjson(String line) {
+        return objectMapper.readValue(line, TodoRequestDto.class);
+    }
+
+    // ---- CSV ----
+    // Header line names the columns (title required; description, completed optional; others ignored),
+    // so a file from GET /api/todos/export?format=csv can be imported as is
+
+    private static Map<String, Integer> readCsvHeader(BoundedLineReader reader) throws IOException {
+        String header = reader.next();
+        if (header == null || reader.isTooLong()) {
+            throw new IllegalArgumentException("CSV 헤더가 없습니다");
+        }
+        // UTF-8 BOM written by spreadsheet programs
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+
+        List<String> names = splitCsv(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("CSV 헤더에 title 열이 없습니다");
+        }
+        return columns;
+    }
+
+    private static TodoRequestDto parseCsv(BoundedLineReader reader, String line, Map<String, Integer> columns)
+            throws IOException {
+        // A quoted field may contain line breaks: keep reading until the quotes are balanced
+        // (the line breaks are kept as sent, \r\n or \n)
+        StringBuilder record = new StringBuilder(line);
+        while (!quotesBalanced(record)) {
+            String lineBreak = reader.getLineBreak();
+            String next = reader.next();
+            if (next == null || reader.isTooLong() || record.length() + next.length() > MAX_LINE_LENGTH) {
+                throw new IllegalArgumentException("닫히지 않은 따옴표가 있습니다");
+            }
+            record.append(lineBreak).append(next);
+        }
+
+        List<String> fields = splitCsv(record.toString());
+        return new TodoRequestDto(
+                column(fields, columns, "title"),
+                column(fields, columns, "description"),
+                parseCompleted(column(fields, columns, "completed")));
+    }
+
+    // Empty: not given; anything but true/false is rejected instead of being read as false
+    private static Boolean parseCompleted(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("completed는 true 또는 false만 가능합니다");
+        };
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private static boolean quotesBalanced(CharSequence record) {
+        int quotes = 0;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 == 0;
+    }
+
+    // RFC 4180 record -> fields ("" inside quotes is a literal quote)
+    private static List<String> splitCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Line reader that never buffers more than maxLength characters of one line
+    private static final class BoundedLineReader {
+        private final BufferedReader reader;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private long lineNumber;
+        private boolean tooLong;
+        private String lineBreak = "";
+
+        private BoundedLineReader(BufferedReader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        // Next line without the terminator (\n or \r\n), null at end of input
+        // A \r anywhere else is part of the line
+        // A line over maxLength is consumed to its end and returned empty with isTooLong() == true
+        String next() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            lineBreak = "";
+
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            lineNumber++;
+
+            boolean carriageReturn = false;
+            while (c != -1 && c != '\n') {
+                if (carriageReturn) {
+                    append('\r');
+                }
+                carriageReturn = c == '\r';
+                if (!carriageReturn) {
+                    append((char) c);
+                }
+                c = reader.read();
+            }
+
+            if (c == '\n') {
+                lineBreak = carriageReturn ? "\r\n" : "\n";
+            } else if (carriageReturn) {
+                append('\r');
+            }
+            if (tooLong) {
+                line.setLength(0);
+            }
+            return line.toString();
+        }
+
+        private void append(char c) {
+            if (line.length() < maxLength) {
+                line.append(c);
+            } else {
+                tooLong = true;
+            }
+        }
+
+        // Terminator of the line last returned by next() ("" at end of input)
+        String getLineBreak() {
+            return lineBreak;
+        }
+
+        long getLineNumber() {
+            return lineNumber;
+        }
+
+        boolean isTooLong() {
+            return tooLong;
+        }
+    }
+
+    private static final class ImportReport {
+        private long imported;
+        private long failed;
+        private Long lastId;        // Last todo saved so far: the next chunk goes right below it
+        private final List<TodoImportErrorDto> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TodoImportErrorDto(line, message));
+            }
+        }
+
+        TodoImportResponseDto toResponse() {
+            return TodoImportResponseDto.builder()
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Manual todo order (Todo.position, keys built by TodoPositions)
+// - new todos go on top, a move writes only the moved todo (TodoService)
+// - keys grow with every move into the same gap: a user who got a key longer than max-length
+//   is queued and respread in the background (all keys rewritten evenly, order unchanged)
+// - positions are not edits: a move sets position_updated_at, a respread marks the user
+//   (users.positions_respread_at), updated_at of the todos stays as it was
+@Service
+@Slf4j
+public class TodoPositionService {
+
+    private static final String RESPREAD_SQL = "UPDATE todos SET position = ? WHERE id = ?";
+
+    private final TodoRepository todoRepository;
+    private final UserRepository userRepository;
+    private final TodoWriteBehindService todoWriteBehindService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    private final int maxLength;
+    private final Set<Long> pendingUsers = ConcurrentHashMap.newKeySet();
+
+    public TodoPositionService(TodoRepository todoRepository,
+                               UserRepository userRepository,
+                               TodoWriteBehindService todoWriteBehindService,
+                               ApplicationEventPublisher eventPublisher,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${todo.position.max-length:32}") int maxLength) {
+        this.todoRepository = todoRepository;
+        this.userRepository = userRepository;
+        this.todoWriteBehindService = todoWriteBehindService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * 맨 위에 추가되는 할일의 순서 키 (새 할일, 보관에서 되돌린 할일)
+     */
+    public String firstPosition(Long userId) {
+        String first = todoRepository.findFirstPosition(userId).orElse(null);
+        return checked(userId, TodoPositions.between(null, first));
+    }
+
+    /**
+     * 맨 위에 차례대로 추가되는 할일 count건의 순서 키 (일괄 생성)
+     */
+    public List<String> firstPositions(Long userId, int count) {
+        String first = todoRepository.findFirstPosition(userId).orElse(null);
+        List<String> positions = TodoPositions.between(null, first, count);
+        positions.forEach(position -> checked(userId, position));
+        return positions;
+    }
+
+    /**
+     * afterId 바로 아래에 차례대로 추가되는 할일 count건의 순서 키 (afterId가 null이면 맨 위, 일괄 생성)
+     * afterId의 할일은 호출한 쪽에서 먼저 잠가야 함 (재배치와 겹치지 않도록)
+     */
+    public List<String> positionsAfter(Long userId, Long afterId, int count) {
+        if (afterId == null) {
+            return firstPositions(userId, count);
+        }
+        String lower = todoRepository.findPosition(afterId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("위에 둘 할일을 찾을 수 없습니다"));
+        String upper = todoRepository.findNextPositionExcept(userId, lower, afterId).orElse(null);
+        List<String> positions = TodoPositions.between(lower, upper, count);
+        positions.forEach(position -> checked(userId, position));
+        return positions;
+    }
+
+    /**
+     * 할일을 afterId 바로 아래로 옮길 때의 순서 키 (afterId가 null이면 맨 위)
+     * 옮기는 할일은 호출한 쪽에서 먼저 잠가야 함 (재배치와 겹치지 않도록)
+     */
+    public String positionAfter(Long userId, Long todoId, Long afterId) {
+        String lower = null;
+        String upper;
+        if (afterId == null) {
+            upper = todoRepository.findFirstPositionExcept(userId, todoId).orElse(null);
+        } else {
+            lower = todoRepository.findPosition(afterId, userId)
+                    .orElseThrow(() -> new IllegalArgumentException("위에 둘 할일을 찾을 수 없습니다"));
+            upper = todoRepository.findNextPositionExcept(userId, lower, todoId).orElse(null);
+        }
+        return checked(userId, TodoPositions.between(lower, upper));
+    }
+
+    /**
+     * 키가 길어진 사용자의 순서 키를 다시 고르게 배치
+     */
+    @Scheduled(fixedDelayString = "${todo.position.rebalance-interval:1m}")
+    public void rebalancePending() {
+        for (Long userId : List.copyOf(pendingUsers)) {
+            pendingUsers.remove(userId);
+            try {
+                rebalance(userId);
+            } catch (RuntimeException e) {
+                // 다음 이동에서 다시 대기열에 들어감 - 키가 길 뿐 순서는 그대로
+                log.warn("사용자 {}의 할일 순서 재배치 실패: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 사용자의 모든 순서 키를 현재 순서 그대로 고르게 다시 씀 (한 트랜잭션)
+     */
+    public void rebalance(Long userId) {
+        // 쓰기 지연 모드의 대기 중인 변경을 먼저 기록 (응답에 예전 키가 남지 않도록)
+        todoWriteBehindService.flush(userId);
+
+        int count = transaction.execute(status -> {
+            // Lock first, then read the order: a move committed while waiting for the locks is included
+            jdbcTemplate.queryForList("SELECT id FROM todos WHERE user_id = ? FOR UPDATE", Long.class, userId);
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM todos WHERE user_id = ? ORDER BY position, id", Long.class, userId);
+
+            List<String> positions = TodoPositions.spread(ids.size());
+            List<Object[]> rows = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                rows.add(new Object[]{positions.get(i), ids.get(i)});
+            }
+            jdbcTemplate.batchUpdate(RESPREAD_SQL, rows);
+
+            // 모든 키가 바뀜: 열린 탭은 변경분 대신 목록 전체를 다시 불러옴 (동기화 fullResync, 스트림 sync)
+            userRepository.markPositionsRespread(userId, LocalDateTime.now());
+            eventPublisher.publishEvent(new TodoChangedEvent(userId));
+            return ids.size();
+        });
+        log.info("사용자 {}의 할일 순서 재배치 완료: {}건", userId, count);
+    }
+
+    private String checked(Long userId, String position) {
+        if (position.length() > maxLength) {
+            pendingUsers.add(userId);
+        }
+        return position;
+    }
+}
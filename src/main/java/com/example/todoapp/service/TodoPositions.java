@@ -0,0 +1,154 @@
+package com.example.todoapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Keys of the manual todo order (Todo.position): fractional indexing
+// - a key is the digits of a fraction 0.xxx in base 62 ("0-9A-Za-z", ascending in ASCII), without
+//   trailing '0', so comparing two keys byte by byte (COLLATE "C") compares the fractions
+// - there is always a key between two different keys: moving a todo rewrites only its own key
+// - keys grow by about one character per 6 moves into the same gap (midpoint) or per 61 todos
+//   added at the same end (step): TodoPositionService respreads a user's keys when they get long
+final class TodoPositions {
+
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final char MIN_DIGIT = DIGITS.charAt(1);
+    private static final char MAX_DIGIT = DIGITS.charAt(BASE - 1);
+
+    // Key of the first todo of an empty list (middle of the key space)
+    static final String INITIAL = String.valueOf(DIGITS.charAt(BASE / 2));
+
+    private TodoPositions() {
+    }
+
+    // A key between lower and upper (null: no bound on that side), e.g. ("A", "C") -> "B", ("A", "B") -> "AV"
+    static String between(String lower, String upper) {
+        if (lower == null && upper == null) {
+            return INITIAL;
+        }
+        if (lower == null) {
+            return before(upper);
+        }
+        if (upper == null) {
+            return after(lower);
+        }
+        if (lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("순서 키가 올바르지 않습니다: " + lower + " >= " + upper);
+        }
+        return midpoint(lower, upper);
+    }
+
+    // count ascending keys between lower and upper, spread out so later moves between them stay short
+    static List<String> between(String lower, String upper, int count) {
+        List<String> keys = new ArrayList<>(count);
+        fill(lower == null ? "" : lower, upper, count, keys);
+        return keys;
+    }
+
+    // count ascending keys spread evenly over the whole key space, all of the same (shortest) length
+    // plus one digit, so there is room for about 61 todos between any two neighbours before a key grows
+    static List<String> spread(int count) {
+        int width = 1;
+        long space = BASE;
+        while (space <= count) {
+            width++;
+            space *= BASE;
+        }
+        width++;
+        space *= BASE;
+
+        long step = space / (count + 1);
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(toKey(step * i, width));
+        }
+        return keys;
+    }
+
+    // Shortest step below upper (todo added on top): "V" -> "U", "1" -> "0z"
+    static String before(String upper) {
+        for (int i = 0; i < upper.length(); i++) {
+            int digit = digit(upper.charAt(i));
+            if (digit > 1) {
+                return upper.substring(0, i) + DIGITS.charAt(digit - 1);
+            }
+        }
+        // Only '0' and '1' digits (no trailing '0': the last one is '1'): go one digit deeper
+        int one = upper.indexOf(MIN_DIGIT);
+        return upper.substring(0, one) + "0" + MAX_DIGIT;
+    }
+
+    // Shortest step above lower (todo added at the bottom): "V" -> "W", "Vz" -> "W", "z" -> "z1"
+    static String after(String lower) {
+        for (int i = 0; i < lower.length(); i++) {
+            int digit = digit(lower.charAt(i));
+            if (digit < BASE - 1) {
+                return lower.substring(0, i) + DIGITS.charAt(digit + 1);
+            }
+        }
+        return lower + MIN_DIGIT;
+    }
+
+    private static void fill(String lower, String upper, int count, List<String> keys) {
+        if (count == 0) {
+            return;
+        }
+        String mid = midpoint(lower, upper);
+        int left = (count - 1) / 2;
+        fill(lower, mid, left, keys);
+        keys.add(mid);
+        fill(mid, upper, count - 1 - left, keys);
+    }
+
+    // Midpoint of two fractions, lower < upper ("": 0, upper null: 1)
+    private static String midpoint(String lower, String upper) {
+        if (upper != null) {
+            // Common prefix (lower padded with '0'): keep it and split the rest
+            int n = 0;
+            while (n < upper.length() && digitAt(lower, n) == digit(upper.charAt(n))) {
+                n++;
+            }
+            if (n > 0) {
+                return upper.substring(0, n) + midpoint(n < lower.length() ? lower.substring(n) : "", upper.substring(n));
+            }
+        }
+
+        int lowerDigit = digitAt(lower, 0);
+        int upperDigit = upper == null ? BASE : digit(upper.charAt(0));
+        if (upperDigit - lowerDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowerDigit + upperDigit) / 2));
+        }
+        // Neighbouring first digits: upper's first digit alone if that is already below upper,
+        // otherwise lower's first digit and the midpoint between the rest of lower and 1
+        if (upper != null && upper.length() > 1) {
+            return upper.substring(0, 1);
+        }
+        return DIGITS.charAt(lowerDigit) + midpoint(lower.length() > 1 ? lower.substring(1) : "", null);
+    }
+
+    private static String toKey(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        int length = width;
+        while (chars[length - 1] == DIGITS.charAt(0)) {
+            length--;
+        }
+        return new String(chars, 0, length);
+    }
+
+    private static int digitAt(String key, int index) {
+        return index < key.length() ? digit(key.charAt(index)) : 0;
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("순서 키가 올바르지 않습니다: " + c);
+        }
+        return digit;
+    }
+}
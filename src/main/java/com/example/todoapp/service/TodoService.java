@@ -1,17 +1,36 @@
 package com.example.todoapp.service;
 
+import com.example.todoapp.cache.TodoListCache;
+import com.example.todoapp.cache.TodoVersions;
+import com.example.todoapp.dto.TodoBatchResponseDto;
+import com.example.todoapp.dto.TodoCursor;
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoPageResponse;
 import com.example.todoapp.dto.TodoRequestDto;
 import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.dto.TodoSort;
+import com.example.todoapp.dto.TodoSummaryDto;
+import com.example.todoapp.dto.TodoView;
 import com.example.todoapp.entity.Todo;
 import com.example.todoapp.entity.User;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.exception.TodoNotFoundException;
+import com.example.todoapp.repository.ArchivedTodoRepository;
 import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoRow;
+import com.example.todoapp.repository.TodoStatsRow;
 import com.example.todoapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,115 +39,351 @@ import java.util.stream.Collectors;
 public class TodoService {
 
     private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;    // 보관된 완료 할일 (토글/삭제 시 확인)
     private final UserRepository userRepository;  // 🆕 추가
+    private final TodoListCache todoListCache;
+    private final TodoVersions todoVersions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoStatsService todoStatsService;
+    private final TodoWriteBehindService todoWriteBehindService;   // 쓰기 지연 모드 (토글/제목 수정)
+    private final TodoPositionService todoPositionService;         // 직접 정한 순서 (position 키)
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     /**
-     * 🆕 수정: 특정 사용자의 모든 할일 조회
+     * 특정 사용자의 할일 목록 조회 (필터 + 정렬 + 커서 기반 페이지네이션)
+     * - filter: 완료 여부, 생성/수정 기간, 키워드, 정렬 (모두 선택, SQL 한 문장으로 조회)
+     * - after: 이전 페이지의 nextCursor (없으면 첫 페이지, 같은 정렬에서 받은 커서만 유효)
+     * - limit: 페이지 크기 (기본 20, 최대 100)
+     * - view: FULL(전체) / SUMMARY(description 제외)
+     * - 모든 페이지를 TodoListCache에서 제공 (필터/페이지 크기/커서/view별, 할일 변경 시 무효화)
+     * 트랜잭션 없이 실행: 캐시 적중 시 DB 커넥션을 잡지 않음 (쿼리는 한 번뿐)
      */
-    @Transactional(readOnly = true)
-    public List<TodoResponseDto> getAllTodos(Long userId) {
-        log.info("사용자 {}의 할일 목록 조회", userId);
+    public TodoPageResponse<?> getTodos(Long userId, TodoFilter filter, String after, Integer limit, TodoView view) {
+        log.info("사용자 {}의 할일 목록 조회 (filter: {}, after: {}, limit: {}, view: {})",
+                userId, filter, after, limit, view);
 
-        // User 찾기
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다"));
+        filter.validate();
+        int pageSize = resolvePageSize(limit);
+        TodoCursor cursor = null;
+        if (after != null && !after.isBlank()) {
+            cursor = TodoCursor.decode(after);
+            if (!cursor.matches(filter.getSort())) {
+                throw new IllegalArgumentException("잘못된 커서입니다");
+            }
+        }
+        todoWriteBehindService.flush(userId);
 
-        // 해당 사용자의 할일만 조회
-        List<Todo> todos = todoRepository.findByUserOrderByCreatedAtDesc(user);
+        // Every condition of the request is in the key (the cursor re-encoded, so equal cursors share it)
+        TodoCursor from = cursor;
+        String key = view + ":" + filter + ":" + pageSize + ":" + (from == null ? "" : from.encode());
+        return todoListCache.get(userId, key, () -> loadPage(userId, filter, from, pageSize, view));
+    }
 
-        return todos.stream()
-                .map(TodoResponseDto::fromEntity)
-                .collect(Collectors.toList());
+    /**
+     * 사용자 할일 데이터의 ETag (변경될 때마다 바뀜)
+     * 목록/단건 조회 전에 먼저 읽어야 함: 조회와 겹친 변경은 태그를 오래된 값으로만 만들 수 있음
+     * 쓰기 지연 모드의 대기 중인 변경을 먼저 기록 (기록되면 버전이 바뀜)
+     */
+    public String getTodosETag(Long userId) {
+        todoWriteBehindService.flush(userId);
+        return todoVersions.etag(userId);
+    }
+
+    /**
+     * 할일 단건 조회 (본인 할일만)
+     * 쓰기 지연 모드의 변경은 컨트롤러가 먼저 부르는 getTodosETag에서 기록됨
+     */
+    @Transactional(readOnly = true)
+    public TodoResponseDto getTodoById(Long userId, Long todoId) {
+        log.info("사용자 {}의 할일 {} 조회", userId, todoId);
+
+        return todoRepository.findDtoByIdAndUserId(todoId, userId)
+                .orElseThrow(TodoNotFoundException::new);
     }
 
     /**
      * 🆕 수정: 할일 생성 (사용자 연결)
+     * 직접 정한 순서에서는 맨 위에 추가
      */
     @Transactional
     public TodoResponseDto createTodo(Long userId, TodoRequestDto requestDto) {
         log.info("사용자 {}의 할일 생성: {}", userId, requestDto.getTitle());
 
-        // User 찾기
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다"));
+        // 토큰으로 검증된 사용자 ID: SELECT 없이 참조(프록시)만 연결
+        User user = userRepository.getReferenceById(userId);
 
         // Todo 생성
         Todo todo = Todo.builder()
                 .title(requestDto.getTitle())
+                .description(requestDto.getDescription())
                 .completed(false)
+                .position(todoPositionService.firstPosition(userId))
                 .user(user)  // 🆕 사용자 연결
                 .build();
 
-        Todo savedTodo = todoRepository.save(todo);
+        // 시퀀스 ID라 INSERT가 미뤄짐: 바로 실행해서 생성/수정 시각 채움
+        Todo savedTodo = todoRepository.saveAndFlush(todo);
+        todoStatsService.recordCreated(userId, 1, 0);
 
-        return TodoResponseDto.fromEntity(savedTodo);
+        TodoResponseDto created = TodoResponseDto.fromEntity(savedTodo);
+        eventPublisher.publishEvent(TodoChangedEvent.changed(userId, List.of(created)));
+        return created;
     }
 
     /**
-     * 🆕 수정: 할일 수정 (본인 할일만)
+     * 할일 일괄 생성 (한 트랜잭션, JDBC 배치 INSERT)
+     * 직접 정한 순서에서는 요청 순서대로 맨 위에 추가
+     */
+    @Transactional
+    public TodoBatchResponseDto createTodos(Long userId, List<TodoRequestDto> requestDtos) {
+        return createTodos(userId, requestDtos, null);
+    }
+
+    /**
+     * 할일 일괄 생성 - 직접 정한 순서에서 afterId 할일 바로 아래에 요청 순서대로 추가 (null이면 맨 위)
+     * 여러 번에 나눠 저장할 때 앞 묶음의 마지막 할일을 넘기면 전체가 요청 순서를 유지 (가져오기)
      */
     @Transactional
+    public TodoBatchResponseDto createTodos(Long userId, List<TodoRequestDto> requestDtos, Long afterId) {
+        log.info("사용자 {}의 할일 일괄 생성: {}건 (after: {})", userId, requestDtos.size(), afterId);
+
+        // 토큰으로 검증된 사용자 ID: SELECT 없이 참조(프록시)만 연결
+        User user = userRepository.getReferenceById(userId);
+
+        // 기준 할일을 잠가 재배치와 겹치지 않도록 (이동과 같은 방식)
+        if (afterId != null) {
+            todoRepository.lockForMove(afterId, userId)
+                    .orElseThrow(() -> new IllegalArgumentException("위에 둘 할일을 찾을 수 없습니다"));
+        }
+        List<String> positions = todoPositionService.positionsAfter(userId, afterId, requestDtos.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<Todo> todos = new ArrayList<>(requestDtos.size());
+        for (int i = 0; i < requestDtos.size(); i++) {
+            TodoRequestDto requestDto = requestDtos.get(i);
+            boolean completed = Boolean.TRUE.equals(requestDto.getCompleted());
+            todos.add(Todo.builder()
+                    .title(requestDto.getTitle())
+                    .description(requestDto.getDescription())
+                    .completed(completed)
+                    .completedAt(completed ? now : null)
+                    .position(positions.get(i))
+                    .user(user)
+                    .build());
+        }
+
+        // ID는 시퀀스에서 미리 할당, INSERT는 batch_size 단위로 배치 실행
+        List<Todo> savedTodos = todoRepository.saveAll(todos);
+        todoRepository.flush();
+        long completedCount = savedTodos.stream().filter(Todo::getCompleted).count();
+        todoStatsService.recordCreated(userId, savedTodos.size(), completedCount);
+
+        List<TodoResponseDto> created = savedTodos.stream()
+                .map(TodoResponseDto::fromEntity)
+                .collect(Collectors.toList());
+        eventPublisher.publishEvent(TodoChangedEvent.changed(userId, created));
+        return TodoBatchResponseDto.of(created);
+    }
+
+    /**
+     * 할일 일괄 완료 토글 (본인 할일만, UPDATE 한 번)
+     * 다른 사용자의 할일이나 없는 ID는 무시되며 affected에 포함되지 않음
+     */
+    @Transactional
+    public TodoBatchResponseDto toggleTodosCompleted(Long userId, List<Long> todoIds) {
+        log.info("사용자 {}의 할일 일괄 토글: {}건", userId, todoIds.size());
+
+        // 쓰기 지연 모드의 대기 중인 변경을 먼저 기록 (순서 유지)
+        todoWriteBehindService.flush(userId);
+        List<TodoStatsRow> toggled = todoRepository.toggleAllByUserIdAndIdIn(userId, todoIds, LocalDateTime.now());
+        if (!toggled.isEmpty()) {
+            todoStatsService.recordCompletedChanged(userId, toggled);
+            eventPublisher.publishEvent(new TodoChangedEvent(userId));
+        }
+        return TodoBatchResponseDto.of(toggled.size());
+    }
+
+    /**
+     * 할일 일괄 삭제 (본인 할일만, DELETE 한 번)
+     */
+    @Transactional
+    public TodoBatchResponseDto deleteTodos(Long userId, List<Long> todoIds) {
+        log.info("사용자 {}의 할일 일괄 삭제: {}건", userId, todoIds.size());
+
+        // 쓰기 지연 모드의 대기 중인 변경을 먼저 기록 (순서 유지)
+        todoWriteBehindService.flush(userId);
+        List<TodoStatsRow> deleted = todoRepository.deleteAllByUserIdAndIdIn(userId, todoIds, LocalDateTime.now());
+        if (!deleted.isEmpty()) {
+            todoStatsService.recordDeleted(userId, deleted);
+            eventPublisher.publishEvent(new TodoChangedEvent(userId));
+        }
+        return TodoBatchResponseDto.of(deleted.size());
+    }
+
+    /**
+     * 🆕 수정: 할일 수정 (본인 할일만)
+     * - 쓰기 지연 모드: 메모리 상태에 바로 반영하고 응답, DB에는 모아서 기록 (TodoWriteBehindService)
+     * - 그 외 (모드 꺼짐/대기 포화): 소유자 확인과 수정을 UPDATE ... RETURNING 한 문장으로 처리
+     */
     public TodoResponseDto updateTodo(Long userId, Long todoId, TodoRequestDto requestDto) {
         log.info("사용자 {}의 할일 {} 수정", userId, todoId);
 
-        Todo todo = todoRepository.findById(todoId)
-                .orElseThrow(() -> new IllegalArgumentException("할일을 찾을 수 없습니다"));
+        return todoWriteBehindService.updateTitle(userId, todoId, requestDto.getTitle())
+                .orElseGet(() -> transactionTemplate.execute(status -> updateTodoNow(userId, todoId, requestDto)));
+    }
 
-        // 🆕 본인 할일인지 확인
-        if (!todo.getUser().getId().equals(userId)) {
-            throw new IllegalArgumentException("다른 사용자의 할일은 수정할 수 없습니다");
-        }
+    private TodoResponseDto updateTodoNow(Long userId, Long todoId, TodoRequestDto requestDto) {
+        // 대기 중인 변경이 먼저 기록되어야 순서가 유지됨
+        todoWriteBehindService.flush(userId);
 
-        todo.setTitle(requestDto.getTitle());
+        // 0건: 없는 할일이거나 다른 사용자의 할일
+        TodoRow row = todoRepository.updateTitleReturning(todoId, userId, requestDto.getTitle(), LocalDateTime.now())
+                .orElseThrow(TodoNotFoundException::new);
 
-        return TodoResponseDto.fromEntity(todo);
+        TodoResponseDto updated = TodoResponseDto.fromRow(row);
+        eventPublisher.publishEvent(TodoChangedEvent.changed(userId, List.of(updated)));
+        return updated;
     }
 
     /**
      * 🆕 수정: 완료 토글 (본인 할일만)
+     * - 쓰기 지연 모드: 메모리 상태에 바로 반영하고 응답, 연속 토글은 합쳐서 기록 (TodoWriteBehindService)
+     * - 그 외 (모드 꺼짐/대기 포화): 소유자 확인과 토글을 UPDATE ... RETURNING 한 문장으로 처리
+     * - 보관된 할일: 목록으로 되돌리며 미완료로 (TodoArchiveService)
      */
-    @Transactional
     public TodoResponseDto toggleTodoCompleted(Long userId, Long todoId) {
         log.info("사용자 {}의 할일 {} 완료 토글", userId, todoId);
 
-        Todo todo = todoRepository.findById(todoId)
-                .orElseThrow(() -> new IllegalArgumentException("할일을 찾을 수 없습니다"));
+        return todoWriteBehindService.toggle(userId, todoId)
+                .orElseGet(() -> transactionTemplate.execute(status -> toggleTodoCompletedNow(userId, todoId)));
+    }
+
+    private TodoResponseDto toggleTodoCompletedNow(Long userId, Long todoId) {
+        // 대기 중인 변경이 먼저 기록되어야 순서가 유지됨
+        todoWriteBehindService.flush(userId);
+
+        // 0건: 보관된 할일이면 되돌리고, 아니면 없는 할일이거나 다른 사용자의 할일
+        LocalDateTime now = LocalDateTime.now();
+        TodoRow row = todoRepository.toggleCompletedReturning(todoId, userId, now)
+                .or(() -> archivedTodoRepository.restoreReturning(
+                        todoId, userId, todoPositionService.firstPosition(userId), now))
+                .orElseThrow(TodoNotFoundException::new);
+        todoStatsService.recordCompletedChanged(userId, List.of(row));
+
+        TodoResponseDto toggled = TodoResponseDto.fromRow(row);
+        eventPublisher.publishEvent(TodoChangedEvent.changed(userId, List.of(toggled)));
+        return toggled;
+    }
+
+    /**
+     * 할일 순서 이동 (본인 할일만, 직접 정한 순서)
+     * - afterId 바로 아래로 (null이면 맨 위), 옮긴 할일의 position만 수정 (다른 할일은 그대로)
+     * - 키가 너무 길어지면 TodoPositionService가 백그라운드에서 다시 배치
+     */
+    @Transactional
+    public TodoResponseDto moveTodo(Long userId, Long todoId, Long afterId) {
+        log.info("사용자 {}의 할일 {} 이동 (after: {})", userId, todoId, afterId);
 
-        // 🆕 본인 할일인지 확인
-        if (!todo.getUser().getId().equals(userId)) {
-            throw new IllegalArgumentException("다른 사용자의 할일은 수정할 수 없습니다");
+        if (todoId.equals(afterId)) {
+            throw new IllegalArgumentException("할일을 자기 자신 아래로 옮길 수 없습니다");
         }
 
-        todo.setCompleted(!todo.getCompleted());
+        // 쓰기 지연 모드의 대기 중인 변경을 먼저 기록 (메모리 상태에 예전 키가 남지 않도록)
+        todoWriteBehindService.flush(userId);
 
-        return TodoResponseDto.fromEntity(todo);
+        // 0건: 없는 할일이거나 다른 사용자의 할일
+        todoRepository.lockForMove(todoId, userId)
+                .orElseThrow(TodoNotFoundException::new);
+        String position = todoPositionService.positionAfter(userId, todoId, afterId);
+        TodoRow row = todoRepository.moveReturning(todoId, userId, position, LocalDateTime.now())
+                .orElseThrow(TodoNotFoundException::new);
+
+        TodoResponseDto moved = TodoResponseDto.fromRow(row);
+        eventPublisher.publishEvent(TodoChangedEvent.changed(userId, List.of(moved)));
+        return moved;
     }
 
     /**
      * 🆕 수정: 할일 삭제 (본인 할일만)
+     * 소유자 확인과 삭제를 DELETE 한 문장으로 처리 (없으면 보관된 할일에서 삭제)
      */
     @Transactional
     public void deleteTodo(Long userId, Long todoId) {
         log.info("사용자 {}의 할일 {} 삭제", userId, todoId);
 
-        Todo todo = todoRepository.findById(todoId)
-                .orElseThrow(() -> new IllegalArgumentException("할일을 찾을 수 없습니다"));
+        // 쓰기 지연 모드의 대기 중인 변경을 먼저 기록 (순서 유지)
+        todoWriteBehindService.flush(userId);
+
+        // 0건: 보관된 할일(항상 완료)이 아니면 없는 할일이거나 다른 사용자의 할일
+        TodoStatsRow deleted = todoRepository.deleteByIdAndUserId(todoId, userId, LocalDateTime.now())
+                .or(() -> archivedTodoRepository.deleteByIdAndUserId(todoId, userId))
+                .orElseThrow(TodoNotFoundException::new);
+        todoStatsService.recordDeleted(userId, List.of(deleted));
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(userId, List.of(todoId)));
+    }
 
-        // 🆕 본인 할일인지 확인
-        if (!todo.getUser().getId().equals(userId)) {
-            throw new IllegalArgumentException("다른 사용자의 할일은 삭제할 수 없습니다");
+    /**
+     * 할일 키워드 검색 (본인 할일만, 관련도 순)
+     * - 공백으로 구분된 단어를 모두 포함하는 할일 (단어는 접두어 일치)
+     * - page: 0부터 시작, size: 페이지 크기 (기본 20, 최대 100)
+     * - view: FULL(전체) / SUMMARY(description 제외)
+     * 트랜잭션 없이 실행: 쓰기 지연 모드의 변경을 먼저 기록해야 함 (쿼리는 한 번뿐)
+     */
+    public List<?> searchTodos(Long userId, String keyword, int page, Integer size, TodoView view) {
+        log.info("사용자 {}의 할일 키워드 검색: {} (page: {}, size: {}, view: {})", userId, keyword, page, size, view);
+
+        if (page < 0) {
+            throw new IllegalArgumentException("page는 0 이상이어야 합니다");
         }
+        int pageSize = resolvePageSize(size);
 
-        todoRepository.delete(todo);
-    }
+        String query = TodoFilter.toPrefixTsQuery(keyword);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        todoWriteBehindService.flush(userId);
 
-    @Transactional(readOnly = true)
-    public List<TodoResponseDto> searchTodos(Long userId, String keyword) {
-        log.info("사용자 {}의 할일 키워드 검색: {}", userId, keyword);
-        List<Todo> searchResults = todoRepository.searchByKeyword(keyword);
-        return searchResults.stream()
-                .filter(todo -> todo.getUser().getId().equals(userId))
-                .map(TodoResponseDto::fromEntity)
+        if (view == TodoView.SUMMARY) {
+            return todoRepository.searchSummaryByUser(userId, query, pageSize, page * pageSize).stream()
+                    .map(TodoSummaryDto::fromRow)
+                    .collect(Collectors.toList());
+        }
+        return todoRepository.searchByUser(userId, query, pageSize, page * pageSize).stream()
+                .map(TodoResponseDto::fromRow)
                 .collect(Collectors.toList());
     }
+
+    private TodoPageResponse<?> loadPage(Long userId, TodoFilter filter, TodoCursor cursor, int pageSize, TodoView view) {
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회
+        int fetchLimit = pageSize + 1;
+        TodoSort sort = filter.getSort();
+
+        if (view == TodoView.SUMMARY) {
+            List<TodoSummaryDto> rows = todoRepository.findSummaryFiltered(userId, filter, cursor, fetchLimit);
+            return toPage(rows, pageSize, todo -> TodoCursor.of(todo, sort));
+        }
+
+        List<TodoResponseDto> rows = todoRepository.findFiltered(userId, filter, cursor, fetchLimit);
+        return toPage(rows, pageSize, todo -> TodoCursor.of(todo, sort));
+    }
+
+    // rows: 최대 pageSize + 1건, 마지막 한 건은 다음 페이지 존재 여부 확인용
+    private static <T> TodoPageResponse<T> toPage(List<T> rows, int pageSize, Function<T, TodoCursor> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> items = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return TodoPageResponse.of(items, nextCursor);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoStatsResponseDto;
+import com.example.todoapp.entity.TodoStats;
+import com.example.todoapp.repository.TodoActivityRow;
+import com.example.todoapp.repository.TodoStatsRepository;
+import com.example.todoapp.repository.TodoStatsRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@Slf4j
+public class TodoStatsService {
+
+    public static final int DEFAULT_DAYS = 7;
+    public static final int MAX_DAYS = 90;
+
+    private final TodoStatsRepository todoStatsRepository;
+    // Provider: TodoWriteBehindService records its writes through this service
+    private final ObjectProvider<TodoWriteBehindService> todoWriteBehindService;
+    private final TransactionTemplate transaction;
+
+    public TodoStatsService(TodoStatsRepository todoStatsRepository,
+                            ObjectProvider<TodoWriteBehindService> todoWriteBehindService,
+                            PlatformTransactionManager transactionManager) {
+        this.todoStatsRepository = todoStatsRepository;
+        this.todoWriteBehindService = todoWriteBehindService;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 통계 조회 (O(1): 카운터 한 행 + 최근 N일 일별 카운터)
+     * 카운터가 아직 없는 사용자는 처음 한 번만 todos 테이블에서 집계해 생성
+     * 쓰기 지연 모드의 대기 중인 토글을 먼저 기록 (이 트랜잭션에 합류해 카운터에 반영된 뒤 읽음)
+     */
+    @Transactional
+    public TodoStatsResponseDto getStats(Long userId, Integer days) {
+        int period = days == null ? DEFAULT_DAYS : days;
+        if (period < 1 || period > MAX_DAYS) {
+            throw new IllegalArgumentException("days는 1~" + MAX_DAYS + " 사이여야 합니다");
+        }
+        log.info("사용자 {}의 할일 통계 조회 (최근 {}일)", userId, period);
+        todoWriteBehindService.ifAvailable(writeBehind -> writeBehind.flush(userId));
+
+        TodoStats stats = todoStatsRepository.findById(userId).orElse(null);
+        if (stats == null) {
+            todoStatsRepository.initialize(userId, LocalDateTime.now());
+            stats = todoStatsRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalStateException("통계를 생성하지 못했습니다"));
+        }
+
+        LocalDate since = LocalDate.now().minusDays(period - 1);
+        TodoActivityRow activity = todoStatsRepository.sumDailyCounts(userId, since);
+
+        long total = stats.getTotalCount();
+        long completed = stats.getCompletedCount();
+        return TodoStatsResponseDto.builder()
+                .total(total)
+                .completed(completed)
+                .open(total - completed)
+                .days(period)
+                .createdRecently(activity.getCreated())
+                .completedRecently(activity.getCompleted())
+                .build();
+    }
+
+    // ---- TodoService 변경 작업에서 같은 트랜잭션으로 호출 ----
+
+    /**
+     * 할일 생성 반영
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Long userId, long count, long completedCount) {
+        addCounts(userId, count, completedCount);
+        todoStatsRepository.addDailyCounts(userId, LocalDate.now(), count, completedCount);
+    }
+
+    /**
+     * 완료 상태 변경 반영 (toggled: 토글된 할일의 새 상태)
+     * 일별 카운터는 completedAt의 날짜에: 완료는 그날에 더하고, 미완료로 되돌린 할일은 그 완료가 기록된 날에서 뺌
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCompletedChanged(Long userId, List<? extends TodoStatsRow> toggled) {
+        long delta = 0;
+        Map<LocalDate, long[]> daily = new TreeMap<>();
+        for (TodoStatsRow todo : toggled) {
+            long change = todo.getCompleted() ? 1 : -1;
+            delta += change;
+            addDaily(daily, todo.getCompletedAt(), 0, change);
+        }
+        if (delta != 0) {
+            addCounts(userId, 0, delta);
+        }
+        addDailyCounts(userId, daily);
+    }
+
+    /**
+     * 할일 삭제 반영 (deleted: 삭제된 할일)
+     * 일별 카운터에서도 뺌: 생성은 생성된 날에서, 완료된 할일의 완료는 완료된 날에서
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long userId, List<? extends TodoStatsRow> deleted) {
+        if (deleted.isEmpty()) {
+            return;
+        }
+        long completed = 0;
+        Map<LocalDate, long[]> daily = new TreeMap<>();
+        for (TodoStatsRow todo : deleted) {
+            addDaily(daily, todo.getCreatedAt(), -1, 0);
+            if (todo.getCompleted()) {
+                completed++;
+                addDaily(daily, todo.getCompletedAt(), 0, -1);
+            }
+        }
+        addCounts(userId, -deleted.size(), -completed);
+        addDailyCounts(userId, daily);
+    }
+
+    // 보관 기간(MAX_DAYS)이 지난 날은 일별 행이 이미 삭제되었으므로 건너뜀
+    private static void addDaily(Map<LocalDate, long[]> daily, LocalDateTime time, long created, long completed) {
+        if (time == null || time.toLocalDate().isBefore(LocalDate.now().minusDays(MAX_DAYS))) {
+            return;
+        }
+        long[] counts = daily.computeIfAbsent(time.toLocalDate(), day -> new long[2]);
+        counts[0] += created;
+        counts[1] += completed;
+    }
+
+    // 날짜 순서로 기록 (같은 사용자의 일별 행을 동시에 갱신하는 트랜잭션끼리 교착되지 않도록)
+    private void addDailyCounts(Long userId, Map<LocalDate, long[]> daily) {
+        daily.forEach((day, counts) -> {
+            if (counts[0] != 0 || counts[1] != 0) {
+                todoStatsRepository.addDailyCounts(userId, day, counts[0], counts[1]);
+            }
+        });
+    }
+
+    // 변경은 이미 DB에 반영된 뒤 호출됨: 카운터가 없으면 이 변경까지 포함해 집계해서 생성
+    private void addCounts(Long userId, long total, long completed) {
+        LocalDateTime now = LocalDateTime.now();
+        if (todoStatsRepository.addCounts(userId, total, completed, now) == 0) {
+            todoStatsRepository.initializeWithCounts(userId, total, completed, now);
+        }
+    }
+
+    /**
+     * 주기적 보정: 모든 카운터를 todos 테이블 기준으로 다시 집계
+     * (장애 등으로 카운터와 실제 값이 어긋난 경우 복구)
+     * 사용자마다 짧은 트랜잭션: 카운터 행을 잠근 뒤 집계 (그 사이의 증감을 덮어쓰지 않도록)
+     */
+    @Scheduled(cron = "${todo.stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        int users = 0;
+        for (Long userId : todoStatsRepository.findAllUserIds()) {
+            Boolean recounted = transaction.execute(status -> todoStatsRepository.lockByUserId(userId).isPresent()
+                    && todoStatsRepository.recount(userId, LocalDateTime.now()) > 0);
+            if (Boolean.TRUE.equals(recounted)) {
+                users++;
+            }
+        }
+        int expired = transaction.execute(status ->
+                todoStatsRepository.deleteDailyCountsBefore(LocalDate.now().minusDays(MAX_DAYS)));
+        log.info("할일 통계 보정 완료: 사용자 {}명, 만료된 일별 통계 {}건 삭제", users, expired);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoChangeEventDto;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Live change feed of each user's todos (GET /api/todos/stream, Server-Sent Events)
+// - idle connections cost no thread: the emitter is an async servlet response,
+//   frames are written by short-lived virtual threads only when there is something to send
+// - each TodoChangedEvent is serialized once after commit and handed to every open connection of the user
+// Metrics: todo.stream.connections (gauge), todo.stream.overflows, todo.stream.rejected (counters)
+@Service
+@Slf4j
+public class TodoStreamService {
+
+    // Larger deltas are announced with "sync" instead of being pushed
+    private static final int MAX_PUSHED_CHANGES = 100;
+
+    private static final Set<DataWithMediaType> SYNC = SseEmitter.event().name("sync").data("{}").build();
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Set<TodoStreamSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("todo-stream-", 0).factory());
+
+    private final Duration timeout;
+    private final int queueCapacity;
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+
+    private final Counter overflows;
+    private final Counter rejected;
+
+    public TodoStreamService(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${todo.stream.timeout:30m}") Duration timeout,
+                             @Value("${todo.stream.queue-capacity:32}") int queueCapacity,
+                             @Value("${todo.stream.max-connections:5000}") int maxConnections,
+                             @Value("${todo.stream.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.queueCapacity = queueCapacity;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+
+        this.overflows = Counter.builder("todo.stream.overflows")
+                .description("Change events dropped for slow clients (replaced by a sync event)")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("todo.stream.rejected")
+                .description("Change feed connections refused by the connection limits")
+                .register(meterRegistry);
+        Gauge.builder("todo.stream.connections", connections, AtomicInteger::get)
+                .description("Open change feed connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 변경 피드 구독
+     * - 연결 직후 "sync" 이벤트: 연결이 끊긴 동안의 변경은 클라이언트가 GET /changes로 따라잡음
+     * - 전체/사용자별 연결 수 제한 초과 시 429
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        TodoStreamSubscriber subscriber = new TodoStreamSubscriber(userId, emitter, queueCapacity, SYNC, sender);
+        if (!register(subscriber)) {
+            rejected.increment();
+            throw new TooManyRequestsException();
+        }
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscriber);
+            emitter.complete();     // EventSource/fetch clients reconnect
+        });
+
+        log.debug("사용자 {}의 변경 피드 연결 (전체 {}개)", userId, connections.get());
+        subscriber.offer(SYNC);
+        return emitter;
+    }
+
+    /**
+     * 커밋된 변경을 해당 사용자의 모든 연결에 전달
+     * 커밋한 스레드는 큐에 넣기만 함 (소켓 쓰기는 전송 스레드에서)
+     */
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        Set<TodoStreamSubscriber> userSubscribers = subscribers.get(event.getUserId());
+        if (userSubscribers == null || userSubscribers.isEmpty()) {
+            return;
+        }
+
+        Set<DataWithMediaType> frame = toFrame(event);
+        for (TodoStreamSubscriber subscriber : userSubscribers) {
+            if (!subscriber.offer(frame)) {
+                overflows.increment();
+            }
+        }
+    }
+
+    /**
+     * 하트비트: 유휴 연결이 프록시/로드밸런서에서 끊기지 않도록, 끊긴 연결은 쓰기 실패로 정리
+     */
+    @Scheduled(fixedDelayString = "${todo.stream.heartbeat:20s}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            if (subscriber.isIdle()) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.getEmitter().complete();
+        }));
+        sender.shutdownNow();
+    }
+
+    private boolean register(TodoStreamSubscriber subscriber) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return false;
+        }
+
+        // compute: checked and added atomically against other connections of the same user
+        AtomicBoolean added = new AtomicBoolean();
+        subscribers.compute(subscriber.getUserId(), (id, userSubscribers) -> {
+            Set<TodoStreamSubscriber> current = userSubscribers != null ? userSubscribers : ConcurrentHashMap.newKeySet();
+            if (current.size() < maxConnectionsPerUser) {
+                added.set(current.add(subscriber));
+            }
+            return current.isEmpty() ? null : current;
+        });
+
+        if (!added.get()) {
+            connections.decrementAndGet();
+        }
+        return added.get();
+    }
+
+    // Called by every emitter callback (completion, error, timeout): counted once
+    private void unsubscribe(TodoStreamSubscriber subscriber) {
+        subscriber.close();
+
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(subscriber.getUserId(), (id, userSubscribers) -> {
+            removed.set(userSubscribers.remove(subscriber));
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+
+        if (removed.get()) {
+            connections.decrementAndGet();
+            log.debug("사용자 {}의 변경 피드 연결 종료 (전체 {}개)", subscriber.getUserId(), connections.get());
+        }
+    }
+
+    private Set<DataWithMediaType> toFrame(TodoChangedEvent event) {
+        if (!event.hasDetails() || event.getChanged().size() + event.getDeleted().size() > MAX_PUSHED_CHANGES) {
+            return SYNC;
+        }
+        String json = objectMapper.writeValueAsString(TodoChangeEventDto.of(event.getChanged(), event.getDeleted()));
+        return SseEmitter.event().name("changes").data(json).build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.todoapp.service;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One open change feed connection (see TodoStreamService)
+// - offer() never blocks: frames go to a small bounded queue, a sender task writes them to the socket
+// - at most one sender task per subscriber at a time, so frames keep their order
+// - queue full (client reads too slowly): the queued frames are dropped and replaced by one "sync" frame,
+//   the client then catches up with GET /api/todos/changes
+class TodoStreamSubscriber {
+
+    @Getter
+    private final Long userId;
+    @Getter
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> queue;
+    private final Set<DataWithMediaType> syncFrame;
+    private final Executor sender;
+
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    TodoStreamSubscriber(Long userId, SseEmitter emitter, int queueCapacity,
+                         Set<DataWithMediaType> syncFrame, Executor sender) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.syncFrame = syncFrame;
+        this.sender = sender;
+    }
+
+    // false: the queue was full and the frame was replaced by a "sync" frame
+    boolean offer(Set<DataWithMediaType> frame) {
+        if (closed.get()) {
+            return true;
+        }
+        boolean accepted = queue.offer(frame);
+        if (!accepted) {
+            queue.clear();
+            overflowed.set(true);
+        }
+        scheduleSend();
+        return accepted;
+    }
+
+    boolean isIdle() {
+        return queue.isEmpty() && !sending.get();
+    }
+
+    void close() {
+        closed.set(true);
+        queue.clear();
+    }
+
+    private void scheduleSend() {
+        if (sending.compareAndSet(false, true)) {
+            try {
+                sender.execute(this::sendQueued);
+            } catch (RejectedExecutionException e) {
+                sending.set(false);     // shutting down
+            }
+        }
+    }
+
+    private void sendQueued() {
+        try {
+            do {
+                if (overflowed.getAndSet(false)) {
+                    emitter.send(syncFrame);
+                }
+                for (Set<DataWithMediaType> frame; !closed.get() && (frame = queue.poll()) != null; ) {
+                    emitter.send(frame);
+                }
+                sending.set(false);
+                // A frame offered after the last poll but before sending was reset is picked up here
+            } while (!closed.get() && (!queue.isEmpty() || overflowed.get()) && sending.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away (or the emitter already completed): the container reports the error
+            // and the emitter callbacks unregister the subscriber
+            sending.set(false);
+            close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoChangesResponseDto;
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.dto.TodoSyncToken;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoTombstoneRepository;
+import com.example.todoapp.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+public class TodoSyncService {
+
+    // More changes than this in one delta: the client reloads the list instead
+    public static final int MAX_CHANGES = 500;
+
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final UserRepository userRepository;
+    private final TodoWriteBehindService todoWriteBehindService;
+    private final Duration overlap;
+    private final Duration tombstoneRetention;
+
+    public TodoSyncService(TodoRepository todoRepository,
+                           TodoTombstoneRepository todoTombstoneRepository,
+                           UserRepository userRepository,
+                           TodoWriteBehindService todoWriteBehindService,
+                           @Value("${todo.sync.overlap:30s}") Duration overlap,
+                           @Value("${todo.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.todoRepository = todoRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.userRepository = userRepository;
+        this.todoWriteBehindService = todoWriteBehindService;
+        this.overlap = overlap;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * 마지막 동기화 이후 변경분 조회 (생성/수정된 할일 + 삭제된 할일 ID)
+     * - since 없음: 변경분 없이 현재 시점의 토큰만 발급 (목록을 불러오기 전에 받아 둘 것)
+     * - 토큰 시각보다 overlap만큼 앞에서부터 조회: 토큰 발급 시점에 아직 커밋되지 않은 변경도 놓치지 않음
+     *   (같은 변경이 두 번 올 수 있으므로 클라이언트는 id 기준으로 덮어쓰기)
+     * - 변경이 너무 많거나 토큰이 삭제 기록 보관 기간보다 오래되면 fullResync
+     *   (토큰 이후 순서 키가 재배치된 경우도: 모든 할일의 키가 바뀜)
+     * 트랜잭션 없이 실행: 쓰기 지연 모드의 변경을 먼저 기록해야 함 (두 조회는 같은 시점일 필요 없음, overlap으로 보완)
+     */
+    public TodoChangesResponseDto getChanges(Long userId, String since) {
+        log.info("사용자 {}의 할일 변경분 조회 (since: {})", userId, since);
+        todoWriteBehindService.flush(userId);
+
+        // 조회 전에 토큰 시각을 정해야 조회 중 생긴 변경이 다음 동기화에 포함됨
+        LocalDateTime now = LocalDateTime.now();
+        String syncToken = new TodoSyncToken(now).encode();
+
+        if (since == null || since.isBlank()) {
+            return TodoChangesResponseDto.of(List.of(), List.of(), syncToken);
+        }
+
+        LocalDateTime from = TodoSyncToken.decode(since).getTime();
+        if (from.isBefore(now.minus(tombstoneRetention))) {
+            return TodoChangesResponseDto.resync(syncToken);
+        }
+        LocalDateTime window = from.minus(overlap);
+        LocalDateTime respreadAt = userRepository.findPositionsRespreadAt(userId).orElse(null);
+        if (respreadAt != null && respreadAt.isAfter(window)) {
+            return TodoChangesResponseDto.resync(syncToken);
+        }
+
+        List<TodoResponseDto> changed = todoRepository.findChangedSince(userId, window, Limit.of(MAX_CHANGES + 1));
+        if (changed.size() > MAX_CHANGES) {
+            return TodoChangesResponseDto.resync(syncToken);
+        }
+        List<Long> deleted = todoTombstoneRepository.findDeletedIdsSince(userId, window, Limit.of(MAX_CHANGES + 1));
+        if (deleted.size() > MAX_CHANGES) {
+            return TodoChangesResponseDto.resync(syncToken);
+        }
+
+        return TodoChangesResponseDto.of(changed, deleted, syncToken);
+    }
+
+    /**
+     * 보관 기간이 지난 삭제 기록 정리
+     * (그보다 오래된 토큰은 어차피 fullResync)
+     */
+    @Scheduled(cron = "${todo.sync.purge-cron:0 0 4 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = todoTombstoneRepository.deleteAllDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("삭제 기록 정리 완료: {}건", purged);
+    }
+}
@@ -0,0 +1,506 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.ArchivedTodoRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoRow;
+import com.example.todoapp.repository.TodoStatsRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Optional write-behind for single-todo toggles and title updates (todo.write-behind.enabled)
+// - a change is applied to the user's in-memory state at once and answered from there
+// - repeated changes of one todo are coalesced: an even number of toggles writes nothing,
+//   only the last title is written
+// - pending changes are written every flush-interval, or as soon as batch-size todos are pending,
+//   as one JDBC batch in one transaction (stats counters and TodoChangedEvent in the same transaction)
+// Ordering: per user, under one lock. Synchronous reads/writes of a user's todos call flush(userId) first
+//           (TodoService, TodoSyncService); toggles are written as "NOT completed", so they commute
+//           with batch toggles that went straight to the database
+// Archive: a todo the mover archived while its change was pending gets the change in the archive
+//          (an odd number of toggles moves it back as open, like a synchronous toggle)
+// Durability: a change is only in memory until its flush (flush-interval + the write itself);
+//             shutdown flushes everything, a crash loses it. Off by default
+// Failures: a failed batch is written again user by user, so one user's bad change does not hold up
+//           the others; a user whose changes failed max-attempts flushes in a row loses them (WARN log)
+//           A change of a todo that is gone (deleted) is dropped the same way
+// Fallback: disabled, or max-pending todos already waiting -> TodoService writes synchronously
+// Metrics: todo.write-behind.pending (gauge), .coalesced, .failures, .dropped, .missing (counters),
+//          .flush (timer)
+@Service
+@Slf4j
+public class TodoWriteBehindService {
+
+    // One statement per todo for both kinds of change: toggle only if the number of toggles is odd
+    // (completed_at set when it completes the todo, kept when it reopens it), title only if it was updated
+    private static final String FLUSH_SQL = "UPDATE todos SET " +
+            "completed = CASE WHEN ? THEN NOT completed ELSE completed END, " +
+            "completed_at = CASE WHEN ? AND NOT completed THEN CAST(? AS timestamp) ELSE completed_at END, " +
+            "title = COALESCE(?, title), updated_at = ? " +
+            "WHERE id = ? AND user_id = ?";
+
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final TodoStatsService todoStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxAttempts;
+
+    private final Map<Long, UserWrites> users = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "todo-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter coalesced;
+    private final Counter failures;
+    private final Counter dropped;
+    private final Counter missing;
+    private final Timer flushTimer;
+
+    public TodoWriteBehindService(TodoRepository todoRepository,
+                                  ArchivedTodoRepository archivedTodoRepository,
+                                  TodoStatsService todoStatsService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${todo.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${todo.write-behind.flush-interval:20ms}") Duration flushInterval,
+                                  @Value("${todo.write-behind.batch-size:200}") int batchSize,
+                                  @Value("${todo.write-behind.max-pending:10000}") int maxPending,
+                                  @Value("${todo.write-behind.max-attempts:5}") int maxAttempts) {
+        this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.todoStatsService = todoStatsService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+
+        this.coalesced = Counter.builder("todo.write-behind.coalesced")
+                .description("Todo changes merged into a change that was still pending")
+                .register(meterRegistry);
+        this.failures = Counter.builder("todo.write-behind.failures")
+                .description("Failed write-behind flushes (retried on the next one)")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("todo.write-behind.dropped")
+                .description("Todo changes given up after max-attempts failed flushes")
+                .register(meterRegistry);
+        this.missing = Counter.builder("todo.write-behind.missing")
+                .description("Todo changes dropped because the todo no longer exists")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("todo.write-behind.flush")
+                .description("Time to write one batch of pending todo changes")
+                .register(meterRegistry);
+        Gauge.builder("todo.write-behind.pending", pending, AtomicInteger::get)
+                .description("Todos with changes not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            flusher.scheduleWithFixedDelay(this::flushAll,
+                    flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("쓰기 지연 모드: {}ms마다 또는 {}건마다 기록", flushInterval.toMillis(), batchSize);
+        }
+    }
+
+    /**
+     * 완료 토글 (메모리 상태에 반영)
+     * 비어 있으면 호출한 쪽에서 바로 DB에 기록 (모드 꺼짐 또는 대기 포화)
+     */
+    public Optional<TodoResponseDto> toggle(Long userId, Long todoId) {
+        return apply(userId, todoId, write -> write.toggle(LocalDateTime.now()));
+    }
+
+    /**
+     * 제목 수정 (메모리 상태에 반영)
+     * 비어 있으면 호출한 쪽에서 바로 DB에 기록 (모드 꺼짐 또는 대기 포화)
+     */
+    public Optional<TodoResponseDto> updateTitle(Long userId, Long todoId, String title) {
+        return apply(userId, todoId, write -> write.updateTitle(title, LocalDateTime.now()));
+    }
+
+    /**
+     * 사용자의 대기 중인 변경을 지금 기록
+     * - 트랜잭션 안에서 호출되면 그 트랜잭션에 합류하고, 끝날 때까지 사용자 잠금 유지
+     *   (그 사이의 변경이 아직 커밋되지 않은 상태를 읽지 않도록)
+     * - 트랜잭션 없이 또는 읽기/쓰기 트랜잭션 안에서만 호출 (읽기 전용 트랜잭션에서는 UPDATE 불가)
+     */
+    public void flush(Long userId) {
+        UserWrites user = users.get(userId);
+        if (user == null) {
+            return;
+        }
+
+        user.lock.lock();
+        if (user.writes.isEmpty()) {
+            user.lock.unlock();
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<UserWrites> batch = List.of(user);
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                user.lock.unlock();
+                throw e;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        clear(batch);
+                    }
+                    user.lock.unlock();
+                }
+            });
+            return;
+        }
+
+        try {
+            write(List.of(user));
+            clear(List.of(user));
+        } finally {
+            user.lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flushAll();
+        if (pending.get() > 0) {
+            log.warn("기록하지 못한 할일 변경 {}건", pending.get());
+        }
+    }
+
+    private Optional<TodoResponseDto> apply(Long userId, Long todoId, Consumer<PendingWrite> change) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        UserWrites user = lockUser(userId);
+        try {
+            PendingWrite write = user.writes.get(todoId);
+            if (write == null) {
+                if (pending.get() >= maxPending) {
+                    return Optional.empty();
+                }
+                // First change since the last flush: current state from the database (a read, no write)
+                // Not in todos (archived, or not the user's): the synchronous path handles it
+                Optional<TodoResponseDto> current = todoRepository.findDtoByIdAndUserId(todoId, userId);
+                if (current.isEmpty()) {
+                    return Optional.empty();
+                }
+                write = new PendingWrite(current.get());
+                user.writes.put(todoId, write);
+                if (pending.incrementAndGet() >= batchSize) {
+                    flushSoon();
+                }
+            } else {
+                coalesced.increment();
+            }
+
+            change.accept(write);
+            return Optional.of(write.view);
+        } finally {
+            user.lock.unlock();
+        }
+    }
+
+    // The user's entry, locked; an entry retired by the flusher in the meantime is replaced
+    private UserWrites lockUser(Long userId) {
+        while (true) {
+            UserWrites user = users.computeIfAbsent(userId, UserWrites::new);
+            user.lock.lock();
+            if (!user.retired) {
+                return user;
+            }
+            user.lock.unlock();
+        }
+    }
+
+    private void flushSoon() {
+        try {
+            flusher.execute(this::flushAll);
+        } catch (RejectedExecutionException e) {
+            // Shutting down: the final flush picks it up
+        }
+    }
+
+    // Scheduled: every user whose lock is free right now, in one batch
+    // (a user locked by a request is taken on the next run)
+    void flushAll() {
+        List<UserWrites> batch = new ArrayList<>();
+        try {
+            for (UserWrites user : users.values()) {
+                if (!user.lock.tryLock()) {
+                    continue;
+                }
+                if (user.writes.isEmpty()) {
+                    user.retired = true;
+                    users.remove(user.userId, user);
+                    user.lock.unlock();
+                } else {
+                    batch.add(user);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                writeAll(batch);
+            }
+        } finally {
+            batch.forEach(user -> user.lock.unlock());
+        }
+    }
+
+    // The whole batch in one transaction; if that fails, each user in its own one
+    private void writeAll(List<UserWrites> batch) {
+        try {
+            write(batch);
+            clear(batch);
+            return;
+        } catch (RuntimeException e) {
+            failures.increment();
+            if (batch.size() == 1) {
+                failed(batch.getFirst(), e);
+                return;
+            }
+            log.warn("할일 변경 일괄 기록 실패 ({}명), 사용자별로 다시 기록: {}", batch.size(), e.getMessage());
+        }
+
+        for (UserWrites user : batch) {
+            try {
+                write(List.of(user));
+                clear(List.of(user));
+            } catch (RuntimeException e) {
+                failed(user, e);
+            }
+        }
+    }
+
+    // Retried on the next flush, given up after maxAttempts failures in a row
+    private void failed(UserWrites user, RuntimeException e) {
+        user.attempts++;
+        if (user.attempts < maxAttempts) {
+            log.error("사용자 {}의 할일 변경 기록 실패 ({}/{}회, 다음 주기에 재시도)",
+                    user.userId, user.attempts, maxAttempts, e);
+            return;
+        }
+        log.warn("사용자 {}의 할일 변경 {}건을 {}회 실패 후 버림 (할일 {}): {}",
+                user.userId, user.writes.size(), user.attempts, user.writes.keySet(), e.getMessage());
+        dropped.increment(user.writes.size());
+        clear(List.of(user));
+    }
+
+    // Locks of all users in the batch are held by the caller
+    // Own transaction, or the caller's one if there is one (then the changes count as written only after its commit)
+    private void write(List<UserWrites> batch) {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (UserWrites user : batch) {
+            for (PendingWrite write : user.writes.values()) {
+                if (write.hasEffect()) {
+                    boolean toggled = write.toggles % 2 == 1;
+                    rows.add(new Object[]{toggled, toggled, now, write.title, now, write.view.getId(), user.userId});
+                }
+            }
+        }
+
+        transaction.executeWithoutResult(status -> {
+            int[] updated = jdbcTemplate.batchUpdate(FLUSH_SQL, rows);
+            Map<Long, TodoStatsRow> toggledRows = toggledRows(batch, updated);
+
+            int row = 0;
+            List<Long> missingIds = new ArrayList<>();
+            for (UserWrites user : batch) {
+                List<TodoResponseDto> changed = new ArrayList<>();
+                List<TodoStatsRow> toggled = new ArrayList<>();
+                for (PendingWrite write : user.writes.values()) {
+                    if (!write.hasEffect()) {
+                        continue;
+                    }
+                    TodoResponseDto written = write.view;
+                    if (updated[row++] == 0) {
+                        // Not in todos any more: archived or deleted in the meantime
+                        TodoRow restored = writeArchived(user.userId, write, now, missingIds);
+                        if (restored == null) {
+                            continue;
+                        }
+                        written = TodoResponseDto.fromRow(restored);
+                        toggled.add(restored);
+                    } else if (write.toggles % 2 == 1) {
+                        toggled.add(toggledRows.get(written.getId()));
+                    }
+                    changed.add(written);
+                }
+                if (!toggled.isEmpty()) {
+                    todoStatsService.recordCompletedChanged(user.userId, toggled);
+                }
+                if (!changed.isEmpty()) {
+                    eventPublisher.publishEvent(TodoChangedEvent.changed(user.userId, changed));
+                }
+            }
+            // Counted only once the transaction is through (a failed batch is written again)
+            if (!missingIds.isEmpty()) {
+                missing.increment(missingIds.size());
+                log.warn("없어진 할일의 변경 {}건을 버림: {}", missingIds.size(), missingIds);
+            }
+        });
+
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("할일 변경 기록: {}건 ({}명)", rows.size(), batch.size());
+    }
+
+    // Toggled todos the batch found in todos, as written (completed_at included), in one query
+    private Map<Long, TodoStatsRow> toggledRows(List<UserWrites> batch, int[] updated) {
+        List<Long> ids = new ArrayList<>();
+        int row = 0;
+        for (UserWrites user : batch) {
+            for (PendingWrite write : user.writes.values()) {
+                if (write.hasEffect() && updated[row++] != 0 && write.toggles % 2 == 1) {
+                    ids.add(write.view.getId());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return todoRepository.findStatsRowsByIdIn(ids).stream()
+                .collect(Collectors.toMap(TodoStatsRow::getId, todo -> todo));
+    }
+
+    // A pending change of a todo the mover archived after the change was answered
+    // Returns the todo back in the list (odd number of toggles), or null: title written into the archive,
+    // or the todo was deleted (its id added to missingIds)
+    private TodoRow writeArchived(Long userId, PendingWrite write, LocalDateTime now, List<Long> missingIds) {
+        Long todoId = write.view.getId();
+        if (write.toggles % 2 == 0) {
+            if (archivedTodoRepository.updateTitle(todoId, userId, write.title) == 0) {
+                missingIds.add(todoId);
+            }
+            return null;
+        }
+
+        // On top of the manual order, like a synchronous toggle of an archived todo
+        String position = TodoPositions.between(null, todoRepository.findFirstPosition(userId).orElse(null));
+        Optional<TodoRow> restored = archivedTodoRepository.restoreReturning(todoId, userId, position, now);
+        if (restored.isEmpty()) {
+            missingIds.add(todoId);
+            return null;
+        }
+        if (write.title != null) {
+            restored = todoRepository.updateTitleReturning(todoId, userId, write.title, now);
+        }
+        return restored.orElse(null);
+    }
+
+    private void clear(List<UserWrites> batch) {
+        for (UserWrites user : batch) {
+            pending.addAndGet(-user.writes.size());
+            user.writes.clear();
+            user.attempts = 0;
+        }
+    }
+
+    // Pending changes of one user; every field is guarded by lock
+    private static class UserWrites {
+        private final Long userId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, PendingWrite> writes = new LinkedHashMap<>();   // todo id -> change
+        private boolean retired;    // removed from the map by the flusher, take a new entry
+        private int attempts;       // failed flushes in a row
+
+        private UserWrites(Long userId) {
+            this.userId = userId;
+        }
+    }
+
+    // Coalesced changes of one todo since the last flush
+    private static class PendingWrite {
+        private TodoResponseDto view;   // state as answered to the client
+        private int toggles;
+        private String title;           // null: title unchanged
+
+        private PendingWrite(TodoResponseDto current) {
+            this.view = current;
+        }
+
+        private void toggle(LocalDateTime now) {
+            toggles++;
+            view = copy(view.getTitle(), !view.getCompleted(), now);
+        }
+
+        private void updateTitle(String newTitle, LocalDateTime now) {
+            title = newTitle;
+            view = copy(newTitle, view.getCompleted(), now);
+        }
+
+        // Toggled back to where it started and no new title: nothing to write
+        private boolean hasEffect() {
+            return toggles % 2 == 1 || title != null;
+        }
+
+        private TodoResponseDto copy(String newTitle, Boolean completed, LocalDateTime now) {
+            return TodoResponseDto.builder()
+                    .id(view.getId())
+                    .title(newTitle)
+                    .description(view.getDescription())
+                    .completed(completed)
+                    .createdAt(view.getCreatedAt())
+                    .updatedAt(now)
+                    .position(view.getPosition())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+-- =====================================================================
+-- PostgreSQL-only schema objects that JPA annotations cannot express.
+-- Runs after Hibernate (spring.jpa.defer-datasource-initialization=true),
+-- so every statement must be idempotent.
+-- =====================================================================
+
+-- ---------------------------------------------------------------------
+-- Full-text search on todos (title weighted above description)
+-- 'simple' config: no stemming/stop words, works for Korean and English
+-- ---------------------------------------------------------------------
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- btree_gin lets user_id live in the same GIN index as the tsvector,
+-- so a search only touches the searching user's postings
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_search
+    ON todos USING GIN (user_id, search_vector);
+
+-- ---------------------------------------------------------------------
+-- Todo ids come from todos_seq (allocationSize 50) instead of the old
+-- identity column: start the sequence above every id already handed out
+-- ---------------------------------------------------------------------
+SELECT setval('todos_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM todos))
+WHERE (SELECT last_value FROM todos_seq) < (SELECT COALESCE(MAX(id), 0) FROM todos);
+
+-- ---------------------------------------------------------------------
+-- Todo list by status (GET /api/todos?completed=..., TodoFilterRepositoryImpl)
+-- Partial: each index holds only open (or only completed) todos, so a status
+-- view reads just that user's matching rows instead of filtering the full list.
+-- Covering: INCLUDE has every column of the summary view, so those pages are
+-- answered from the index alone (index-only scan) once the table is vacuumed.
+-- ---------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS idx_todos_user_open_created
+    ON todos (user_id, created_at DESC, id DESC)
+    INCLUDE (title, completed, updated_at, position)
+    WHERE NOT completed;
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_done_created
+    ON todos (user_id, created_at DESC, id DESC)
+    INCLUDE (title, completed, updated_at, position)
+    WHERE completed;
+
+-- ---------------------------------------------------------------------
+-- Archive mover (TodoArchiveService): completed todos by completion time
+-- (completed_at), so each batch finds its candidates without scanning the
+-- open todos of every user
+-- Todos completed before the column existed: their last change is the
+-- closest known completion time (no-op once they all have one)
+-- ---------------------------------------------------------------------
+UPDATE todos SET completed_at = updated_at
+WHERE completed AND completed_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_todos_done_completed
+    ON todos (completed_at)
+    WHERE completed;
+
+-- ---------------------------------------------------------------------
+-- Manual order (Todo.position, TodoPositions): todos from before the
+-- column existed get keys in their old list order (newest first).
+-- Keys are odd numbers zero-padded to one width per user: decimal digits
+-- are valid key characters and an odd number never ends in '0'.
+-- Only rows without a key are touched: a no-op once they all have one.
+-- ---------------------------------------------------------------------
+UPDATE todos t
+SET position = k.position
+FROM (
+    SELECT id,
+           lpad((2 * row_number() OVER (PARTITION BY user_id ORDER BY created_at DESC, id DESC) - 1)::text,
+                length((2 * count(*) OVER (PARTITION BY user_id) - 1)::text), '0') AS position
+    FROM todos
+    WHERE position IS NULL
+) k
+WHERE t.id = k.id;
+
+-- ---------------------------------------------------------------------
+-- Unique constraints of users: AuthService tells a taken username from a
+-- taken email by constraint name (User.UK_USERNAME / User.UK_EMAIL).
+-- Tables from before the names were set carry generated ones: rename them,
+-- or drop them when Hibernate has already added the named constraint next
+-- to them (two unique indexes on one column). A no-op once only the named
+-- constraints are left. Quoted body, not $$, for the script splitter.
+-- ---------------------------------------------------------------------
+DO '
+DECLARE
+    c record;
+BEGIN
+    FOR c IN
+        SELECT con.conname,
+               CASE a.attname WHEN ''username'' THEN ''uk_users_username'' ELSE ''uk_users_email'' END AS target
+        FROM pg_constraint con
+        JOIN pg_attribute a ON a.attrelid = con.conrelid AND a.attnum = con.conkey[1]
+        WHERE con.conrelid = ''users''::regclass
+          AND con.contype = ''u''
+          AND cardinality(con.conkey) = 1
+          AND a.attname IN (''username'', ''email'')
+    LOOP
+        CONTINUE WHEN c.conname = c.target;
+        IF EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = ''users''::regclass AND conname = c.target) THEN
+            EXECUTE format(''ALTER TABLE users DROP CONSTRAINT %I'', c.conname);
+        ELSE
+            EXECUTE format(''ALTER TABLE users RENAME CONSTRAINT %I TO %I'', c.conname, c.target);
+        END IF;
+    END LOOP;
+END
+';
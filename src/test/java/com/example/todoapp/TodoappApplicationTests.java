@@ -2,10 +2,19 @@ package com.example.todoapp;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 @SpringBootTest
 class TodoappApplicationTests {
 
+	// Embedded PostgreSQL and a test token secret instead of the environment of application.properties
+	@DynamicPropertySource
+	static void environment(DynamicPropertyRegistry registry) {
+		TestDatabase.register(registry);
+		registry.add("todo.auth.token-secret", () -> "test-secret-test-secret-test-secret");
+	}
+
 	@Test
 	void contextLoads() {
 	}
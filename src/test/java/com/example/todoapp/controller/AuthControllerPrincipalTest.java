@@ -0,0 +1,68 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.cache.TodoFragmentCache;
+import com.example.todoapp.dto.UserResponse;
+import com.example.todoapp.security.TokenProvider;
+import com.example.todoapp.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// @CurrentUserId: the token's user id reaches the service, any other principal never does (no "user_id = null" queries)
+@WebMvcTest(AuthController.class)
+@Import(ControllerTestConfig.class)
+class AuthControllerPrincipalTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TokenProvider tokenProvider;
+    @MockitoBean
+    private AuthService authService;
+    // Needed by SerializationConfig, no todos are written here
+    @MockitoBean
+    private TodoFragmentCache todoFragmentCache;
+
+    @Test
+    void tokenUserIdIsThePrincipal() throws Exception {
+        given(tokenProvider.verify("token")).willReturn(Optional.of(7L));
+        given(authService.getMyInfo(7L)).willReturn(UserResponse.builder().id(7L).username("alice").build());
+
+        mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("alice"));
+    }
+
+    @Test
+    void withoutATokenTheRequestIsRejected() throws Exception {
+        mockMvc.perform(get("/api/auth/me"))
+                .andExpect(status().isUnauthorized());
+
+        verify(authService, never()).getMyInfo(any());
+    }
+
+    @Test
+    void otherPrincipalTypesFailInsteadOfResolvingToNull() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/auth/me").with(user("alice"))))
+                .hasRootCauseInstanceOf(ClassCastException.class);
+
+        verify(authService, never()).getMyInfo(any());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.config.SecurityConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+// Shared setup of the controller slices: the real token security and a meter registry
+// (RequestQueryMetricsFilter is part of every @WebMvcTest)
+@TestConfiguration
+@Import(SecurityConfig.class)
+class ControllerTestConfig {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
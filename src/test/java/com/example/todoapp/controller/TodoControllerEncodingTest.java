@@ -0,0 +1,178 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.cache.TodoFragmentCache;
+import com.example.todoapp.dto.TodoPageResponse;
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.security.TokenProvider;
+import com.example.todoapp.service.TodoArchiveService;
+import com.example.todoapp.service.TodoExportService;
+import com.example.todoapp.service.TodoImportService;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoStatsService;
+import com.example.todoapp.service.TodoStreamService;
+import com.example.todoapp.service.TodoSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ETag revalidation and JSON/CBOR negotiation of the todo list (SerializationConfig)
+@WebMvcTest(TodoController.class)
+@Import({ControllerTestConfig.class, TodoFragmentCache.class})
+class TodoControllerEncodingTest {
+
+    private static final Long USER_ID = 7L;
+    private static final String TOKEN = "Bearer token";
+    private static final String ETAG = "W/\"3-42\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private CBORMapper cborMapper;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @MockitoBean
+    private TokenProvider tokenProvider;
+    @MockitoBean
+    private TodoService todoService;
+    @MockitoBean
+    private TodoExportService todoExportService;
+    @MockitoBean
+    private TodoImportService todoImportService;
+    @MockitoBean
+    private TodoStatsService todoStatsService;
+    @MockitoBean
+    private TodoSyncService todoSyncService;
+    @MockitoBean
+    private TodoStreamService todoStreamService;
+    @MockitoBean
+    private TodoArchiveService todoArchiveService;
+
+    private final LocalDateTime createdAt = LocalDateTime.of(2026, 2, 17, 15, 30, 30);
+
+    @BeforeEach
+    void setUp() {
+        given(tokenProvider.verify("token")).willReturn(Optional.of(USER_ID));
+        given(todoService.getTodosETag(USER_ID)).willReturn(ETAG);
+        TodoResponseDto todo = new TodoResponseDto(1L, "write tests", "for the list", false,
+                createdAt, createdAt, "V");
+        given(todoService.getTodos(eq(USER_ID), any(), any(), any(), any()))
+                .willAnswer(invocation -> TodoPageResponse.of(List.of(todo), null));
+    }
+
+    @Test
+    void listIsJsonWithAWeakETag() throws Exception {
+        mockMvc.perform(get("/api/todos").header(HttpHeaders.AUTHORIZATION, TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(jsonPath("$.items[0].title").value("write tests"))
+                .andExpect(jsonPath("$.items[0].createdAt").value("2026-02-17 15:30:30"));
+    }
+
+    @Test
+    void currentETagAnswersNotModifiedWithoutLoadingTheList() throws Exception {
+        mockMvc.perform(get("/api/todos")
+                        .header(HttpHeaders.AUTHORIZATION, TOKEN)
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+
+        verify(todoService, never()).getTodos(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void weakETagAlsoRevalidatesTheCborEncoding() throws Exception {
+        mockMvc.perform(get("/api/todos")
+                        .header(HttpHeaders.AUTHORIZATION, TOKEN)
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void cborOnRequest() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/todos")
+                        .header(HttpHeaders.AUTHORIZATION, TOKEN)
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = cborMapper.readTree(body);
+        assertThat(page.get("items").get(0).get("title").asString()).isEqualTo("write tests");
+        assertThat(page.get("items").get(0).get("createdAt").asString()).isEqualTo("2026-02-17 15:30:30");
+    }
+
+    @Test
+    void anyAcceptGetsJson() throws Exception {
+        mockMvc.perform(get("/api/todos")
+                        .header(HttpHeaders.AUTHORIZATION, TOKEN)
+                        .header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void onlyTheHttpJsonConverterWritesFragments() {
+        List<HttpMessageConverter<?>> converters = handlerAdapter.getMessageConverters();
+
+        JacksonJsonHttpMessageConverter json = converters.stream()
+                .filter(JacksonJsonHttpMessageConverter.class::isInstance)
+                .map(JacksonJsonHttpMessageConverter.class::cast)
+                .findFirst().orElseThrow();
+        JacksonCborHttpMessageConverter cbor = converters.stream()
+                .filter(JacksonCborHttpMessageConverter.class::isInstance)
+                .map(JacksonCborHttpMessageConverter.class::cast)
+                .findFirst().orElseThrow();
+
+        assertThat(converters.indexOf(json)).isLessThan(converters.indexOf(cbor));
+        assertThat(moduleNames(json.getMapper().registeredModules())).contains("todoFragments");
+        assertThat(cbor.getMapper()).isSameAs(cborMapper);
+        // Boot's mapper (fragments, SSE, export) stays plain
+        assertThat(moduleNames(jsonMapper.registeredModules())).doesNotContain("todoFragments");
+    }
+
+    private static List<Object> moduleNames(Collection<JacksonModule> modules) {
+        return modules.stream().map(JacksonModule::getRegistrationId).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.todoapp.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Encoding of the keyset cursor ("after" / "nextCursor")
+class TodoCursorTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 1, 9, 30, 15, 123_456_000);
+    private static final LocalDateTime UPDATED = CREATED.plusDays(2);
+
+    private final TodoResponseDto todo = TodoResponseDto.builder()
+            .id(42L)
+            .createdAt(CREATED)
+            .updatedAt(UPDATED)
+            .position("Vk|")
+            .build();
+
+    @Test
+    void timeCursorTakesTheSortColumn() {
+        TodoCursor byCreated = TodoCursor.decode(TodoCursor.of(todo, TodoSort.CREATED_ASC).encode());
+        TodoCursor byUpdated = TodoCursor.decode(TodoCursor.of(todo, TodoSort.UPDATED_DESC).encode());
+
+        assertThat(byCreated.getTime()).isEqualTo(CREATED);
+        assertThat(byCreated.getPosition()).isNull();
+        assertThat(byCreated.getId()).isEqualTo(42L);
+        assertThat(byUpdated.getTime()).isEqualTo(UPDATED);
+    }
+
+    @Test
+    void positionCursorKeepsTheKeyEvenWithTheSeparatorInIt() {
+        TodoCursor cursor = TodoCursor.decode(TodoCursor.of(todo, TodoSort.MANUAL).encode());
+
+        assertThat(cursor.getPosition()).isEqualTo("Vk|");
+        assertThat(cursor.getTime()).isNull();
+        assertThat(cursor.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        assertThat(TodoCursor.of(todo, TodoSort.MANUAL).encode()).matches("[A-Za-z0-9_-]+");
+        assertThat(TodoCursor.of(todo, TodoSort.CREATED_DESC).encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void cursorOnlyContinuesTheOrderItCameFrom() {
+        TodoCursor byTime = TodoCursor.of(todo, TodoSort.CREATED_DESC);
+        TodoCursor manual = TodoCursor.of(todo, TodoSort.MANUAL);
+
+        assertThat(byTime.matches(TodoSort.UPDATED_ASC)).isTrue();
+        assertThat(byTime.matches(TodoSort.MANUAL)).isFalse();
+        assertThat(manual.matches(TodoSort.MANUAL)).isTrue();
+        assertThat(manual.matches(TodoSort.CREATED_DESC)).isFalse();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String cursor : new String[]{"not base64!", encode("no separator"), encode("2026-03-01T09:30|x"),
+                encode("yesterday|42"), ""}) {
+            assertThatThrownBy(() -> TodoCursor.decode(cursor))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("잘못된 커서입니다");
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.TestDatabase;
+import com.example.todoapp.entity.ArchivedTodo;
+import com.example.todoapp.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Archive mover and restore (data-modifying CTEs) against PostgreSQL
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ArchivedTodoRepositoryTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // PostgreSQL keeps microseconds
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+                .username("archiver" + System.nanoTime())
+                .password("secret")
+                .email(System.nanoTime() + "@example.com")
+                .build()).getId();
+    }
+
+    @Test
+    void archivesByCompletionTimeNotByLastChange() {
+        // Completed long ago, title edited yesterday: due
+        Long editedLongDone = insertTodo(true, now.minusDays(40), now.minusDays(1));
+        // Completed yesterday, otherwise untouched for months: not due
+        Long recentlyDone = insertTodo(true, now.minusDays(1), now.minusDays(90));
+        // Open for months: never archived
+        Long open = insertTodo(false, null, now.minusDays(90));
+        // Reopened after a completion long ago: open, so never archived either
+        Long reopened = insertTodo(false, now.minusDays(60), now.minusDays(50));
+
+        List<ArchivedTodoId> archived = archivedTodoRepository.archiveCompletedBefore(now.minusDays(30), 100, now);
+
+        assertThat(archived).singleElement().satisfies(todo -> {
+            assertThat(todo.getId()).isEqualTo(editedLongDone);
+            assertThat(todo.getUserId()).isEqualTo(userId);
+        });
+        assertThat(todoRepository.existsById(editedLongDone)).isFalse();
+        assertThat(archivedTodoRepository.existsById(editedLongDone)).isTrue();
+        assertThat(todoRepository.existsById(recentlyDone)).isTrue();
+        assertThat(todoRepository.existsById(open)).isTrue();
+        assertThat(todoRepository.existsById(reopened)).isTrue();
+        assertThat(tombstones(editedLongDone)).isEqualTo(1);
+    }
+
+    @Test
+    void archiveKeepsTheCompletionTime() {
+        Long id = insertTodo(true, now.minusDays(40), now.minusDays(1));
+
+        archivedTodoRepository.archiveCompletedBefore(now.minusDays(30), 100, now);
+
+        ArchivedTodo archived = archivedTodoRepository.findById(id).orElseThrow();
+        assertThat(archived.getCompletedAt()).isEqualTo(now.minusDays(40));
+        assertThat(archived.getUpdatedAt()).isEqualTo(now.minusDays(1));
+        assertThat(archived.getArchivedAt()).isEqualTo(now);
+    }
+
+    @Test
+    void archiveListIsOrderedByCompletionTime() {
+        // Completed first, edited last: still the oldest completion
+        Long completedFirst = insertTodo(true, now.minusDays(50), now.minusDays(1));
+        Long completedLast = insertTodo(true, now.minusDays(35), now.minusDays(35));
+        Long completedBetween = insertTodo(true, now.minusDays(40), now.minusDays(10));
+        archivedTodoRepository.archiveCompletedBefore(now.minusDays(30), 100, now);
+
+        List<ArchivedTodo> first = archivedTodoRepository.findFirstPage(userId, Limit.of(2));
+        assertThat(first).extracting(ArchivedTodo::getId).containsExactly(completedLast, completedBetween);
+
+        ArchivedTodo last = first.get(1);
+        List<ArchivedTodo> next = archivedTodoRepository.findPageAfter(
+                userId, last.getCompletedAt(), last.getId(), Limit.of(2));
+        assertThat(next).extracting(ArchivedTodo::getId).containsExactly(completedFirst);
+    }
+
+    @Test
+    void archivesAtMostOneBatch() {
+        for (int i = 0; i < 5; i++) {
+            insertTodo(true, now.minusDays(40), now.minusDays(40));
+        }
+
+        List<ArchivedTodoId> first = archivedTodoRepository.archiveCompletedBefore(now.minusDays(30), 3, now);
+        List<ArchivedTodoId> second = archivedTodoRepository.archiveCompletedBefore(now.minusDays(30), 3, now);
+
+        assertThat(first).hasSize(3);
+        assertThat(second).hasSize(2);
+    }
+
+    @Test
+    void restoreMovesTheTodoBackAsOpenWithItsCompletionTime() {
+        Long id = insertTodo(true, now.minusDays(40), now.minusDays(40));
+        archivedTodoRepository.archiveCompletedBefore(now.minusDays(30), 100, now);
+
+        TodoRow row = archivedTodoRepository.restoreReturning(id, userId, "V", now).orElseThrow();
+
+        assertThat(row.getId()).isEqualTo(id);
+        assertThat(row.getCompleted()).isFalse();
+        assertThat(row.getPosition()).isEqualTo("V");
+        assertThat(row.getCompletedAt()).isEqualTo(now.minusDays(40));
+        assertThat(archivedTodoRepository.existsById(id)).isFalse();
+        assertThat(completedAt(id)).isEqualTo(now.minusDays(40));
+        assertThat(tombstones(id)).isZero();
+    }
+
+    @Test
+    void restoreIsScopedToTheOwner() {
+        Long id = insertTodo(true, now.minusDays(40), now.minusDays(40));
+        archivedTodoRepository.archiveCompletedBefore(now.minusDays(30), 100, now);
+
+        assertThat(archivedTodoRepository.restoreReturning(id, userId + 1, "V", now)).isEmpty();
+        assertThat(archivedTodoRepository.existsById(id)).isTrue();
+    }
+
+    @Test
+    void titleOfAnArchivedTodo() {
+        Long id = insertTodo(true, now.minusDays(40), now.minusDays(40));
+        archivedTodoRepository.archiveCompletedBefore(now.minusDays(30), 100, now);
+
+        assertThat(archivedTodoRepository.updateTitle(id, userId + 1, "other")).isZero();
+        assertThat(archivedTodoRepository.updateTitle(id, userId, "renamed")).isEqualTo(1);
+        assertThat(archivedTodoRepository.findById(id).orElseThrow().getTitle()).isEqualTo("renamed");
+    }
+
+    @Test
+    void togglesSetTheCompletionTimeAndReopeningKeepsIt() {
+        Long id = insertTodo(false, null, now.minusDays(5));
+
+        todoRepository.toggleCompletedReturning(id, userId, now).orElseThrow();
+        assertThat(completedAt(id)).isEqualTo(now);
+
+        TodoRow reopened = todoRepository.toggleCompletedReturning(id, userId, now.plusMinutes(1)).orElseThrow();
+        assertThat(reopened.getCompleted()).isFalse();
+        assertThat(reopened.getCompletedAt()).isEqualTo(now);
+        assertThat(completedAt(id)).isEqualTo(now);
+
+        todoRepository.toggleAllByUserIdAndIdIn(userId, List.of(id), now.plusMinutes(2));
+        assertThat(completedAt(id)).isEqualTo(now.plusMinutes(2));
+    }
+
+    private Long insertTodo(boolean completed, LocalDateTime completedAt, LocalDateTime updatedAt) {
+        Long id = jdbcTemplate.queryForObject("SELECT nextval('todos_seq')", Long.class);
+        jdbcTemplate.update("INSERT INTO todos (id, user_id, title, completed, completed_at, created_at, updated_at, position) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, userId, "todo " + id, completed, completedAt, updatedAt.minusDays(1), updatedAt, "V" + id);
+        return id;
+    }
+
+    private LocalDateTime completedAt(Long id) {
+        Timestamp completedAt = jdbcTemplate.queryForObject(
+                "SELECT completed_at FROM todos WHERE id = ?", Timestamp.class, id);
+        return completedAt == null ? null : completedAt.toLocalDateTime();
+    }
+
+    private int tombstones(Long id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_tombstones WHERE todo_id = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.TestDatabase;
+import com.example.todoapp.dto.TodoCursor;
+import com.example.todoapp.dto.TodoFilter;
+import com.example.todoapp.dto.TodoResponseDto;
+import com.example.todoapp.dto.TodoSort;
+import com.example.todoapp.dto.TodoSummaryDto;
+import com.example.todoapp.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Per-user filter query and keyset paging against PostgreSQL
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TodoFilterRepositoryTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // PostgreSQL keeps microseconds
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    private Long userId;
+    private Long otherUserId;
+    private final List<TodoResponseDto> todos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userId = newUser();
+        otherUserId = newUser();
+
+        // Several todos share a time: the id has to break the tie without skipping or repeating rows
+        String[] positions = {"d", "a", "f", "b", "g", "c", "e"};
+        for (int i = 0; i < positions.length; i++) {
+            LocalDateTime createdAt = now.minusHours(i / 3);
+            LocalDateTime updatedAt = now.minusMinutes(i % 2);
+            todos.add(insertTodo(userId, i % 3 == 0, createdAt, updatedAt, positions[i]));
+        }
+        // Same keys, other user: never listed
+        insertTodo(otherUserId, false, now, now, "a");
+    }
+
+    @Test
+    void pagesVisitEveryTodoOnceInEachOrder() {
+        assertPagedOrder(TodoSort.CREATED_DESC, TodoResponseDto::getCreatedAt);
+        assertPagedOrder(TodoSort.CREATED_ASC, TodoResponseDto::getCreatedAt);
+        assertPagedOrder(TodoSort.UPDATED_DESC, TodoResponseDto::getUpdatedAt);
+        assertPagedOrder(TodoSort.UPDATED_ASC, TodoResponseDto::getUpdatedAt);
+        assertPagedOrder(TodoSort.MANUAL, TodoResponseDto::getPosition);
+    }
+
+    @Test
+    void completedFilterIsAppliedOnEveryPage() {
+        TodoFilter filter = TodoFilter.builder().completed(true).build();
+
+        List<Long> ids = pageThrough(filter);
+
+        assertThat(ids).containsExactlyElementsOf(todos.stream()
+                .filter(TodoResponseDto::getCompleted)
+                .sorted(order(TodoSort.CREATED_DESC, TodoResponseDto::getCreatedAt))
+                .map(TodoResponseDto::getId)
+                .toList());
+    }
+
+    @Test
+    void timeRangeIsHalfOpen() {
+        TodoFilter filter = TodoFilter.builder()
+                .createdFrom(now.minusHours(1))
+                .createdTo(now)
+                .build();
+
+        assertThat(todoRepository.findFiltered(userId, filter, null, 100))
+                .extracting(TodoResponseDto::getCreatedAt)
+                .containsOnly(now.minusHours(1))
+                .hasSize(3);
+    }
+
+    @Test
+    void summaryRowsFollowTheSameOrderWithoutDescription() {
+        TodoFilter filter = TodoFilter.builder().sort(TodoSort.MANUAL).build();
+
+        List<TodoSummaryDto> rows = todoRepository.findSummaryFiltered(userId, filter, null, 100);
+
+        assertThat(rows).extracting(TodoSummaryDto::getPosition).containsExactly("a", "b", "c", "d", "e", "f", "g");
+    }
+
+    @Test
+    void otherUsersTodosAreNotListed() {
+        assertThat(todoRepository.findFiltered(otherUserId, TodoFilter.all(), null, 100)).hasSize(1);
+        assertThat(todoRepository.findFiltered(userId, TodoFilter.all(), null, 100)).hasSize(todos.size());
+    }
+
+    private <K extends Comparable<K>> void assertPagedOrder(TodoSort sort, Function<TodoResponseDto, K> key) {
+        List<Long> ids = pageThrough(TodoFilter.builder().sort(sort).build());
+
+        assertThat(ids).as(sort.name()).containsExactlyElementsOf(todos.stream()
+                .sorted(order(sort, key))
+                .map(TodoResponseDto::getId)
+                .toList());
+    }
+
+    // Follows nextCursor the way a client does: encoded, then decoded for the next request
+    private List<Long> pageThrough(TodoFilter filter) {
+        List<Long> ids = new ArrayList<>();
+        TodoCursor cursor = null;
+        while (true) {
+            List<TodoResponseDto> rows = todoRepository.findFiltered(userId, filter, cursor, PAGE_SIZE + 1);
+            List<TodoResponseDto> page = rows.subList(0, Math.min(rows.size(), PAGE_SIZE));
+            page.forEach(todo -> ids.add(todo.getId()));
+            if (rows.size() <= PAGE_SIZE) {
+                return ids;
+            }
+            cursor = TodoCursor.decode(TodoCursor.of(page.get(page.size() - 1), filter.getSort()).encode());
+        }
+    }
+
+    private static <K extends Comparable<K>> Comparator<TodoResponseDto> order(TodoSort sort,
+                                                                               Function<TodoResponseDto, K> key) {
+        Comparator<TodoResponseDto> order = Comparator.comparing(key).thenComparing(TodoResponseDto::getId);
+        return sort.isDescending() ? order.reversed() : order;
+    }
+
+    private Long newUser() {
+        return userRepository.save(User.builder()
+                .username("lister" + System.nanoTime())
+                .password("secret")
+                .email(System.nanoTime() + "@example.com")
+                .build()).getId();
+    }
+
+    private TodoResponseDto insertTodo(Long owner, boolean completed, LocalDateTime createdAt,
+                                       LocalDateTime updatedAt, String position) {
+        Long id = jdbcTemplate.queryForObject("SELECT nextval('todos_seq')", Long.class);
+        jdbcTemplate.update("INSERT INTO todos (id, user_id, title, completed, completed_at, created_at, updated_at, position) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, owner, "todo " + id, completed, completed ? updatedAt : null, createdAt, updatedAt, position);
+        return TodoResponseDto.builder()
+                .id(id)
+                .completed(completed)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .position(position)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.todoapp.security;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Issuing and verifying the HMAC-signed access tokens
+class TokenProviderTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final TokenProvider tokenProvider = new TokenProvider(SECRET, Duration.ofHours(1));
+
+    @Test
+    void issuedTokenVerifiesToItsUser() {
+        assertThat(tokenProvider.verify(tokenProvider.issue(42L))).contains(42L);
+    }
+
+    @Test
+    void changedPayloadIsRejected() {
+        String token = tokenProvider.issue(42L);
+        String signature = token.substring(token.indexOf('.') + 1);
+        long expiresAt = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+
+        assertThat(tokenProvider.verify(encode("1:" + expiresAt) + "." + signature)).isEmpty();
+        assertThat(tokenProvider.verify(encode("42:" + (expiresAt + 3600)) + "." + signature)).isEmpty();
+    }
+
+    @Test
+    void changedSignatureIsRejected() {
+        String token = tokenProvider.issue(42L);
+        int last = token.length() - 1;
+        String flipped = token.substring(0, last) + (token.charAt(last) == 'A' ? 'B' : 'A');
+
+        assertThat(tokenProvider.verify(flipped)).isEmpty();
+        assertThat(tokenProvider.verify(token.substring(0, token.indexOf('.') + 1) + encode("forged"))).isEmpty();
+    }
+
+    @Test
+    void tokenSignedWithAnotherSecretIsRejected() {
+        TokenProvider other = new TokenProvider("fedcba9876543210fedcba9876543210", Duration.ofHours(1));
+
+        assertThat(tokenProvider.verify(other.issue(42L))).isEmpty();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        TokenProvider expired = new TokenProvider(SECRET, Duration.ofSeconds(-1));
+
+        assertThat(tokenProvider.verify(expired.issue(42L))).isEmpty();
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        for (String token : new String[]{"", ".", "abc", "abc.", ".abc", "!!!.???"}) {
+            assertThat(tokenProvider.verify(token)).as(token).isEmpty();
+        }
+    }
+
+    @Test
+    void correctlySignedMalformedClaimsAreRejected() {
+        long expiresAt = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+
+        for (String claims : new String[]{"no colon", ":" + expiresAt, "x:" + expiresAt, "42:soon", "42:"}) {
+            assertThat(tokenProvider.verify(signed(claims))).as(claims).isEmpty();
+        }
+        assertThat(tokenProvider.verify(signed("42:" + expiresAt))).contains(42L);
+    }
+
+    @Test
+    void shortSecretIsRefused() {
+        assertThatThrownBy(() -> new TokenProvider("too short", Duration.ofHours(1)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    // Token for the given claims, signed the way TokenProvider does
+    private static String signed(String claims) {
+        String payload = encode(claims);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+            return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
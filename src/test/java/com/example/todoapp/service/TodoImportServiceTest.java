@@ -0,0 +1,152 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoBatchResponseDto;
+import com.example.todoapp.dto.TodoFileFormat;
+import com.example.todoapp.dto.TodoImportResponseDto;
+import com.example.todoapp.dto.TodoRequestDto;
+import com.example.todoapp.dto.TodoResponseDto;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// CSV/NDJSON parsing of the import (saving is mocked)
+class TodoImportServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final TodoService todoService = mock(TodoService.class);
+    private final List<TodoRequestDto> saved = new ArrayList<>();
+    private final List<Long> anchors = new ArrayList<>();
+    private ValidatorFactory validatorFactory;
+    private TodoImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importService = new TodoImportService(todoService, JsonMapper.builder().build(), validatorFactory.getValidator());
+        // The chunk list is reused after saving: keep a copy (ids: 1, 2, ... in saving order)
+        when(todoService.createTodos(eq(USER_ID), anyList(), any())).thenAnswer(invocation -> {
+            List<TodoRequestDto> chunk = invocation.getArgument(1);
+            anchors.add(invocation.getArgument(2));
+            List<TodoResponseDto> created = new ArrayList<>();
+            for (TodoRequestDto todo : chunk) {
+                saved.add(todo);
+                created.add(TodoResponseDto.builder().id((long) saved.size()).title(todo.getTitle()).build());
+            }
+            return TodoBatchResponseDto.of(created);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void crlfRecordsKeepCrlfInsideQuotedFields() throws IOException {
+        TodoImportResponseDto response = importCsv(
+                "title,description,completed\r\n" +
+                "first,\"line one\r\nline two\",false\r\n" +
+                "second,plain,true\r\n");
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(saved.get(0).getDescription()).isEqualTo("line one\r\nline two");
+        assertThat(saved.get(0).getCompleted()).isFalse();
+        assertThat(saved.get(1).getTitle()).isEqualTo("second");
+        assertThat(saved.get(1).getDescription()).isEqualTo("plain");
+        assertThat(saved.get(1).getCompleted()).isTrue();
+    }
+
+    @Test
+    void lfRecordsKeepLfInsideQuotedFields() throws IOException {
+        importCsv("title,description\n\"a \"\"quoted\"\" title\",\"one\ntwo\"\n");
+
+        assertThat(saved.get(0).getTitle()).isEqualTo("a \"quoted\" title");
+        assertThat(saved.get(0).getDescription()).isEqualTo("one\ntwo");
+    }
+
+    @Test
+    void completedOtherThanTrueOrFalseIsRejectedWithItsLine() throws IOException {
+        TodoImportResponseDto response = importCsv(
+                "title,completed\r\n" +
+                "upper,TRUE\r\n" +
+                "yes,yes\r\n" +
+                "blank,\r\n" +
+                "one,1\r\n" +
+                "typo,flase\r\n");
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting("line").containsExactly(3L, 5L, 6L);
+        assertThat(response.getErrors()).extracting("message")
+                .containsOnly("completed는 true 또는 false만 가능합니다");
+        assertThat(saved.get(0).getCompleted()).isTrue();
+        assertThat(saved.get(1).getCompleted()).isNull();
+    }
+
+    @Test
+    void errorLineOfAMultiLineRecordIsItsFirstLine() throws IOException {
+        TodoImportResponseDto response = importCsv(
+                "title,description,completed\n" +
+                "first,\"spans\nlines\",maybe\n");
+
+        assertThat(response.getErrors()).extracting("line").containsExactly(2L);
+    }
+
+    @Test
+    void unclosedQuoteIsReported() throws IOException {
+        TodoImportResponseDto response = importCsv("title,description\nfirst,\"never closed\n");
+
+        assertThat(response.getErrors()).extracting("message").containsExactly("닫히지 않은 따옴표가 있습니다");
+    }
+
+    @Test
+    void ndjsonLinesMayEndWithCrlf() throws IOException {
+        TodoImportResponseDto response = importTodos(TodoFileFormat.NDJSON,
+                "{\"title\":\"a\"}\r\n{\"title\":\"b\",\"completed\":true}\r\nnot json\r\n");
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting("line").containsExactly(3L);
+        assertThat(saved).extracting(TodoRequestDto::getTitle).containsExactly("a", "b");
+    }
+
+    @Test
+    void eachChunkGoesBelowTheLastTodoOfThePreviousOne() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 1200; i++) {
+            body.append("{\"title\":\"todo ").append(i).append("\"}\n");
+        }
+
+        TodoImportResponseDto response = importTodos(TodoFileFormat.NDJSON, body.toString());
+
+        assertThat(response.getImported()).isEqualTo(1200);
+        // 500 per chunk: the first on top, then below todo 500, then below todo 1000
+        assertThat(anchors).containsExactly(null, 500L, 1000L);
+        assertThat(saved.get(500).getTitle()).isEqualTo("todo 501");
+    }
+
+    private TodoImportResponseDto importCsv(String body) throws IOException {
+        return importTodos(TodoFileFormat.CSV, body);
+    }
+
+    private TodoImportResponseDto importTodos(TodoFileFormat format, String body) throws IOException {
+        return importService.importTodos(USER_ID, format,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
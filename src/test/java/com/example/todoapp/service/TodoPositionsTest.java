@@ -0,0 +1,159 @@
+package com.example.todoapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoPositionsTest {
+
+    @Test
+    void firstKeyOfAnEmptyList() {
+        assertThat(TodoPositions.between(null, null)).isEqualTo(TodoPositions.INITIAL);
+    }
+
+    @Test
+    void betweenTwoKeys() {
+        assertThat(TodoPositions.between("A", "C")).isEqualTo("B");
+        assertOrdered("A", TodoPositions.between("A", "z"), "z");
+        assertOrdered("V", TodoPositions.between("V", "V1"), "V1");
+    }
+
+    @Test
+    void adjacentKeysGetALongerKey() {
+        assertThat(TodoPositions.between("A", "B")).isEqualTo("AV");
+        assertThat(TodoPositions.between("Az", "B")).isEqualTo("AzV");
+    }
+
+    @Test
+    void beforeTheFirstKey() {
+        assertThat(TodoPositions.between(null, "V")).isEqualTo("U");
+        assertThat(TodoPositions.before("1")).isEqualTo("0z");
+        assertThat(TodoPositions.before("01")).isEqualTo("00z");
+        assertOrdered(TodoPositions.before("0z"), "0z");
+    }
+
+    @Test
+    void afterTheLastKey() {
+        assertThat(TodoPositions.between("V", null)).isEqualTo("W");
+        assertThat(TodoPositions.after("Vz")).isEqualTo("W");
+        assertThat(TodoPositions.after("z")).isEqualTo("z1");
+        assertThat(TodoPositions.after("zz")).isEqualTo("zz1");
+    }
+
+    @Test
+    void rejectsBoundsOutOfOrder() {
+        assertThatThrownBy(() -> TodoPositions.between("B", "A")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TodoPositions.between("B", "B")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsCharactersOutsideTheAlphabet() {
+        assertThatThrownBy(() -> TodoPositions.before("-")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void batchBetweenTwoKeys() {
+        List<String> keys = TodoPositions.between("A", "B", 100);
+
+        assertThat(keys).hasSize(100);
+        assertOrdered(concat("A", keys, "B"));
+        keys.forEach(TodoPositionsTest::assertNoTrailingZero);
+    }
+
+    @Test
+    void batchOnTopOfTheList() {
+        List<String> keys = TodoPositions.between(null, "V", 50);
+
+        assertThat(keys).hasSize(50);
+        assertOrdered(concat(null, keys, "V"));
+    }
+
+    @Test
+    void batchBelowTheLastKey() {
+        List<String> keys = TodoPositions.between("V", null, 50);
+
+        assertThat(keys).hasSize(50);
+        assertOrdered(concat("V", keys, null));
+    }
+
+    @Test
+    void spreadKeysAreOrderedAndOfOneWidth() {
+        for (int count : new int[]{1, 2, 61, 62, 1000, 5000}) {
+            List<String> keys = TodoPositions.spread(count);
+
+            assertThat(keys).hasSize(count);
+            assertOrdered(keys);
+            // Trailing '0's are cut, so the keys are at most the common width
+            int width = keys.stream().mapToInt(String::length).max().orElseThrow();
+            assertThat(keys).allSatisfy(key -> assertThat(key.length()).isBetween(1, width));
+            assertThat(width).isLessThanOrEqualTo(count < 62 ? 2 : count < 62 * 62 ? 3 : 4);
+        }
+    }
+
+    @Test
+    void repeatedInsertsKeepTheOrder() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>(List.of(TodoPositions.INITIAL));
+        for (int i = 0; i < 20_000; i++) {
+            int gap = random.nextInt(keys.size() + 1);
+            String lower = gap == 0 ? null : keys.get(gap - 1);
+            String upper = gap == keys.size() ? null : keys.get(gap);
+            keys.add(gap, TodoPositions.between(lower, upper));
+        }
+
+        assertOrdered(keys);
+        keys.forEach(TodoPositionsTest::assertNoTrailingZero);
+    }
+
+    @Test
+    void movesIntoTheSameGapGrowSlowly() {
+        String lower = "A";
+        String upper = "B";
+        for (int i = 0; i < 60; i++) {
+            upper = TodoPositions.between(lower, upper);
+        }
+
+        // About one character per 6 halvings of the gap (log2(62) bits per character)
+        assertThat(upper.length()).isLessThanOrEqualTo(1 + 60 / 5);
+    }
+
+    // The position column is COLLATE "C": PostgreSQL compares the keys byte by byte,
+    // the order must be the same as String.compareTo (all key characters are ASCII)
+    private static void assertOrdered(String... keys) {
+        assertOrdered(Arrays.asList(keys));
+    }
+
+    private static void assertOrdered(List<String> keys) {
+        for (int i = 1; i < keys.size(); i++) {
+            String lower = keys.get(i - 1);
+            String upper = keys.get(i);
+            assertThat(lower.compareTo(upper)).as("%s < %s", lower, upper).isNegative();
+            assertThat(Arrays.compareUnsigned(lower.getBytes(StandardCharsets.US_ASCII),
+                    upper.getBytes(StandardCharsets.US_ASCII)))
+                    .as("bytes of %s < %s", lower, upper).isNegative();
+        }
+    }
+
+    private static void assertNoTrailingZero(String key) {
+        assertThat(key).doesNotEndWith("0");
+    }
+
+    private static List<String> concat(String lower, List<String> keys, String upper) {
+        List<String> all = new ArrayList<>();
+        if (lower != null) {
+            all.add(lower);
+        }
+        all.addAll(keys);
+        if (upper != null) {
+            all.add(upper);
+        }
+        return all;
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.TestDatabase;
+import com.example.todoapp.entity.User;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoStatsRepository;
+import com.example.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Counter upkeep against PostgreSQL: first change of a user without counters, races with initialize, reconcile
+// Not in a test transaction: the races need two committed transactions
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TodoStatsService.class)
+class TodoStatsServiceTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private TodoStatsService todoStatsService;
+
+    @Autowired
+    private TodoStatsRepository todoStatsRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService other = Executors.newSingleThreadExecutor();
+    private TransactionTemplate transaction;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        userId = userRepository.save(User.builder()
+                .username("counter" + System.nanoTime())
+                .password("secret")
+                .email(System.nanoTime() + "@example.com")
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        other.shutdownNow();
+        jdbcTemplate.update("DELETE FROM todos WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM todo_stats WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM todo_daily_stats WHERE user_id = ?", userId);
+    }
+
+    @Test
+    void firstChangeCreatesTheCountersFromTheTables() {
+        insertTodo(true);
+        insertTodo(false);
+
+        transaction.executeWithoutResult(status -> {
+            insertTodo(false);
+            todoStatsService.recordCreated(userId, 1, 0);
+        });
+
+        assertCounts(3, 1);
+    }
+
+    @Test
+    void laterChangesAddTheirDeltas() {
+        insertTodo(false);
+        transaction.executeWithoutResult(status -> todoStatsRepository.initialize(userId, LocalDateTime.now()));
+
+        transaction.executeWithoutResult(status -> {
+            insertTodo(false);
+            todoStatsService.recordCreated(userId, 1, 0);
+        });
+        transaction.executeWithoutResult(status -> todoStatsService.recordCompletedChanged(userId,
+                todoRepository.toggleAllByUserIdAndIdIn(userId, todoIds(), LocalDateTime.now())));
+
+        assertCounts(2, 2);
+    }
+
+    @Test
+    void reopenTakesTheCompletionBackOnTheDayItWasCounted() {
+        Long id = insertTodo(false);
+        LocalDateTime threeDaysAgo = LocalDateTime.now().minusDays(3);
+        transaction.executeWithoutResult(status -> todoStatsService.recordCompletedChanged(userId,
+                todoRepository.toggleAllByUserIdAndIdIn(userId, List.of(id), threeDaysAgo)));
+        assertDailyCounts(threeDaysAgo.toLocalDate(), 0, 1);
+
+        // Reopened today: the completion from three days ago is taken back, today is untouched
+        transaction.executeWithoutResult(status -> todoStatsService.recordCompletedChanged(userId,
+                List.of(todoRepository.toggleCompletedReturning(id, userId, LocalDateTime.now()).orElseThrow())));
+
+        assertDailyCounts(threeDaysAgo.toLocalDate(), 0, 0);
+        assertThat(dailyRows(LocalDate.now())).isZero();
+        assertCounts(1, 0);
+        assertThat(todoStatsService.getStats(userId, 7).getCompletedRecently()).isZero();
+    }
+
+    @Test
+    void deleteTakesBackTheCreationAndCompletionOnTheirDays() {
+        LocalDateTime created = LocalDateTime.now().minusDays(2);
+        LocalDateTime completed = LocalDateTime.now().minusDays(1);
+        Long id = insertTodo(true, completed, created);
+        transaction.executeWithoutResult(status -> {
+            todoStatsRepository.initialize(userId, LocalDateTime.now());
+            todoStatsRepository.addDailyCounts(userId, created.toLocalDate(), 1, 0);
+            todoStatsRepository.addDailyCounts(userId, completed.toLocalDate(), 0, 1);
+        });
+
+        transaction.executeWithoutResult(status -> todoStatsService.recordDeleted(userId,
+                todoRepository.deleteAllByUserIdAndIdIn(userId, List.of(id), LocalDateTime.now())));
+
+        assertDailyCounts(created.toLocalDate(), 0, 0);
+        assertDailyCounts(completed.toLocalDate(), 0, 0);
+        assertCounts(0, 0);
+    }
+
+    @Test
+    void changeDuringAnUncommittedInitializeIsNotLost() throws Exception {
+        insertTodo(false);
+        AtomicReference<Future<?>> create = new AtomicReference<>();
+
+        transaction.executeWithoutResult(status -> {
+            // Counts one todo, row not committed yet
+            todoStatsRepository.initialize(userId, LocalDateTime.now());
+
+            create.set(other.submit(() -> transaction.executeWithoutResult(createStatus -> {
+                insertTodo(false);
+                todoStatsService.recordCreated(userId, 1, 0);
+            })));
+            // The create waits for the counter row
+            assertThatThrownBy(() -> create.get().get(500, TimeUnit.MILLISECONDS))
+                    .isInstanceOf(TimeoutException.class);
+        });
+        create.get().get(10, TimeUnit.SECONDS);
+
+        assertCounts(2, 0);
+    }
+
+    @Test
+    void reconcileDoesNotOverwriteAChangeCommittedWhileItWaits() throws Exception {
+        insertTodo(false);
+        transaction.executeWithoutResult(status -> todoStatsRepository.initialize(userId, LocalDateTime.now()));
+        jdbcTemplate.update("UPDATE todo_stats SET total_count = 99 WHERE user_id = ?", userId);
+        AtomicReference<Future<?>> reconcile = new AtomicReference<>();
+
+        transaction.executeWithoutResult(status -> {
+            insertTodo(false);
+            todoStatsService.recordCreated(userId, 1, 0);
+
+            // Reconcile waits for this transaction's lock on the counter row
+            reconcile.set(other.submit(todoStatsService::reconcile));
+            assertThatThrownBy(() -> reconcile.get().get(500, TimeUnit.MILLISECONDS))
+                    .isInstanceOf(TimeoutException.class);
+        });
+        reconcile.get().get(10, TimeUnit.SECONDS);
+
+        // Recounted after the create committed: both todos
+        assertCounts(2, 0);
+    }
+
+    private Long insertTodo(boolean completed) {
+        LocalDateTime now = LocalDateTime.now();
+        return insertTodo(completed, completed ? now : null, now);
+    }
+
+    private Long insertTodo(boolean completed, LocalDateTime completedAt, LocalDateTime createdAt) {
+        Long id = jdbcTemplate.queryForObject("SELECT nextval('todos_seq')", Long.class);
+        jdbcTemplate.update("INSERT INTO todos (id, user_id, title, completed, completed_at, created_at, updated_at, position) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", id, userId, "todo " + id, completed, completedAt, createdAt, createdAt, "V" + id);
+        return id;
+    }
+
+    private List<Long> todoIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM todos WHERE user_id = ?", Long.class, userId);
+    }
+
+    private int dailyRows(LocalDate day) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo_daily_stats WHERE user_id = ? AND stat_day = ?",
+                Integer.class, userId, day);
+    }
+
+    private void assertDailyCounts(LocalDate day, long created, long completed) {
+        assertThat(jdbcTemplate.queryForMap("SELECT created_count, completed_count FROM todo_daily_stats " +
+                "WHERE user_id = ? AND stat_day = ?", userId, day))
+                .containsEntry("created_count", created)
+                .containsEntry("completed_count", completed);
+    }
+
+    private void assertCounts(long total, long completed) {
+        assertThat(todoStatsRepository.findById(userId)).hasValueSatisfying(stats -> {
+            assertThat(stats.getTotalCount()).isEqualTo(total);
+            assertThat(stats.getCompletedCount()).isEqualTo(completed);
+        });
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.TestDatabase;
+import com.example.todoapp.entity.User;
+import com.example.todoapp.repository.ArchivedTodoRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoStatsRow;
+import com.example.todoapp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// Coalescing, flushing and failure handling of the write-behind queue against PostgreSQL
+// Not in a test transaction: the service writes in its own transactions, like the scheduled flusher
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TodoWriteBehindServiceTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final TodoStatsService todoStatsService = mock(TodoStatsService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Long> userIds = new ArrayList<>();
+    private TodoWriteBehindService writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        // Flushed by the tests only (start() is not called)
+        writeBehind = new TodoWriteBehindService(todoRepository, archivedTodoRepository,
+                todoStatsService, mock(ApplicationEventPublisher.class), jdbcTemplate,
+                transactionManager, meterRegistry, true, Duration.ofHours(1), 1000, 1000, MAX_ATTEMPTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Committed rows: remove them so other tests (archive mover) do not see them
+        for (Long userId : userIds) {
+            jdbcTemplate.update("DELETE FROM todos WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM archived_todos WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM todo_tombstones WHERE user_id = ?", userId);
+        }
+    }
+
+    @Test
+    void changesOfOneTodoAreCoalesced() {
+        Long userId = newUser();
+        Long id = insertTodo(userId, false, LocalDateTime.now().minusDays(1));
+
+        writeBehind.toggle(userId, id);
+        writeBehind.toggle(userId, id);
+        assertThat(writeBehind.updateTitle(userId, id, "renamed")).hasValueSatisfying(todo -> {
+            assertThat(todo.getTitle()).isEqualTo("renamed");
+            assertThat(todo.getCompleted()).isFalse();
+        });
+        assertThat(counter("todo.write-behind.coalesced")).isEqualTo(2);
+        assertThat(row(id)).containsEntry("title", "todo " + id);   // not written yet
+
+        writeBehind.flush(userId);
+
+        assertThat(row(id))
+                .containsEntry("title", "renamed")
+                .containsEntry("completed", false)
+                .containsEntry("completed_at", null);
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void oddTogglesAreWrittenWithTheCompletionTime() {
+        Long userId = newUser();
+        Long id = insertTodo(userId, false, LocalDateTime.now().minusDays(1));
+
+        writeBehind.toggle(userId, id);
+        writeBehind.flushAll();
+
+        assertThat(row(id)).containsEntry("completed", true);
+        assertThat(row(id).get("completed_at")).isNotNull();
+    }
+
+    @Test
+    void reopeningKeepsTheCompletionTimeForTheStats() {
+        Long userId = newUser();
+        LocalDateTime completedAt = LocalDateTime.now().minusDays(3).truncatedTo(ChronoUnit.MICROS);
+        Long id = insertCompletedTodo(userId, completedAt);
+
+        writeBehind.toggle(userId, id);
+        writeBehind.flushAll();
+
+        assertThat(row(id))
+                .containsEntry("completed", false)
+                .containsEntry("completed_at", Timestamp.valueOf(completedAt));
+        assertThat(recordedToggles(userId)).singleElement().satisfies(todo -> {
+            assertThat(todo.getCompleted()).isFalse();
+            assertThat(todo.getCompletedAt()).isEqualTo(completedAt);
+        });
+    }
+
+    @Test
+    void evenTogglesWriteNothing() {
+        Long userId = newUser();
+        LocalDateTime updatedAt = LocalDateTime.now().minusDays(1);
+        Long id = insertTodo(userId, false, updatedAt);
+        Object before = row(id).get("updated_at");
+
+        writeBehind.toggle(userId, id);
+        writeBehind.toggle(userId, id);
+        writeBehind.flushAll();
+
+        assertThat(row(id)).containsEntry("completed", false).containsEntry("updated_at", before);
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void failingChangeDoesNotHoldUpOthersAndIsDroppedAfterMaxAttempts() {
+        Long badUser = newUser();
+        Long badTodo = insertTodo(badUser, false, LocalDateTime.now().minusDays(1));
+        Long goodUser = newUser();
+        Long goodTodo = insertTodo(goodUser, false, LocalDateTime.now().minusDays(1));
+
+        // Longer than the title column (VARCHAR(255)): fails on every flush
+        writeBehind.updateTitle(badUser, badTodo, "x".repeat(300));
+        writeBehind.toggle(goodUser, goodTodo);
+
+        writeBehind.flushAll();
+        assertThat(row(goodTodo)).containsEntry("completed", true);
+        assertThat(pending()).isEqualTo(1);
+
+        for (int i = 1; i < MAX_ATTEMPTS; i++) {
+            writeBehind.flushAll();
+        }
+        assertThat(pending()).isZero();
+        assertThat(counter("todo.write-behind.dropped")).isEqualTo(1);
+        assertThat(counter("todo.write-behind.failures")).isEqualTo(MAX_ATTEMPTS);
+        assertThat(row(badTodo)).containsEntry("title", "todo " + badTodo);
+    }
+
+    @Test
+    void changeOfADeletedTodoIsCountedAsMissing() {
+        Long userId = newUser();
+        Long id = insertTodo(userId, false, LocalDateTime.now().minusDays(1));
+
+        writeBehind.toggle(userId, id);
+        jdbcTemplate.update("DELETE FROM todos WHERE id = ?", id);
+        writeBehind.flushAll();
+
+        assertThat(counter("todo.write-behind.missing")).isEqualTo(1);
+        assertThat(counter("todo.write-behind.failures")).isZero();
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void titleOfATodoArchivedMeanwhileGoesIntoTheArchive() {
+        Long userId = newUser();
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(40);
+        Long id = insertCompletedTodo(userId, longAgo);
+
+        writeBehind.updateTitle(userId, id, "renamed");
+        archive();
+        writeBehind.flushAll();
+
+        assertThat(archivedTodoRepository.findById(id)).hasValueSatisfying(
+                todo -> assertThat(todo.getTitle()).isEqualTo("renamed"));
+        assertThat(counter("todo.write-behind.missing")).isZero();
+    }
+
+    @Test
+    void toggleOfATodoArchivedMeanwhileBringsItBack() {
+        Long userId = newUser();
+        LocalDateTime completedAt = LocalDateTime.now().minusDays(40).truncatedTo(ChronoUnit.MICROS);
+        Long id = insertCompletedTodo(userId, completedAt);
+
+        writeBehind.toggle(userId, id);
+        writeBehind.updateTitle(userId, id, "reopened");
+        archive();
+        writeBehind.flushAll();
+
+        assertThat(archivedTodoRepository.existsById(id)).isFalse();
+        assertThat(row(id))
+                .containsEntry("completed", false)
+                .containsEntry("title", "reopened")
+                .containsEntry("completed_at", Timestamp.valueOf(completedAt));
+        assertThat(recordedToggles(userId)).singleElement()
+                .satisfies(todo -> assertThat(todo.getCompletedAt()).isEqualTo(completedAt));
+    }
+
+    private Long newUser() {
+        Long userId = userRepository.save(User.builder()
+                .username("writer" + System.nanoTime())
+                .password("secret")
+                .email(System.nanoTime() + "@example.com")
+                .build()).getId();
+        userIds.add(userId);
+        return userId;
+    }
+
+    private Long insertTodo(Long userId, boolean completed, LocalDateTime updatedAt) {
+        return insert(userId, completed, completed ? updatedAt : null, updatedAt);
+    }
+
+    private Long insertCompletedTodo(Long userId, LocalDateTime completedAt) {
+        return insert(userId, true, completedAt, completedAt);
+    }
+
+    private Long insert(Long userId, boolean completed, LocalDateTime completedAt, LocalDateTime updatedAt) {
+        Long id = jdbcTemplate.queryForObject("SELECT nextval('todos_seq')", Long.class);
+        jdbcTemplate.update("INSERT INTO todos (id, user_id, title, completed, completed_at, created_at, updated_at, position) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, userId, "todo " + id, completed, completedAt, updatedAt.minusDays(1), updatedAt, "V" + id);
+        return id;
+    }
+
+    private void archive() {
+        LocalDateTime now = LocalDateTime.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> archivedTodoRepository.archiveCompletedBefore(now.minusDays(30), 100, now));
+    }
+
+    private Map<String, Object> row(Long id) {
+        return jdbcTemplate.queryForMap(
+                "SELECT title, completed, completed_at, updated_at FROM todos WHERE id = ?", id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TodoStatsRow> recordedToggles(Long userId) {
+        ArgumentCaptor<List<TodoStatsRow>> toggled = ArgumentCaptor.forClass(List.class);
+        verify(todoStatsService).recordCompletedChanged(eq(userId), toggled.capture());
+        return toggled.getValue();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double pending() {
+        return meterRegistry.get("todo.write-behind.pending").gauge().value();
+    }
+}